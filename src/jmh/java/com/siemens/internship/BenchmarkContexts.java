@@ -0,0 +1,70 @@
+package com.siemens.internship;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Boots the application without the web layer for the JMH benchmarks and fills its in-memory H2 database.
+ */
+final class BenchmarkContexts {
+
+    private BenchmarkContexts() {
+    }
+
+    /**
+     * Starts the application context on its own in-memory database, with logging reduced to warnings
+     * so that it does not distort the measurements.
+     * @param database Name of the in-memory H2 database.
+     * @param properties Extra properties, in {@code key=value} form.
+     * @return The running context; close it in the benchmark tear-down.
+     */
+    static ConfigurableApplicationContext start(String database, String... properties) {
+        String[] defaults = {
+                "spring.datasource.url=jdbc:h2:mem:" + database,
+                "logging.level.root=WARN",
+                "spring.main.banner-mode=off"
+        };
+        return new SpringApplicationBuilder(InternshipApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(Stream.concat(Stream.of(defaults), Stream.of(properties)).toArray(String[]::new))
+                .run();
+    }
+
+    /**
+     * Replaces the table content with the given number of fresh, unprocessed items, inserted through the bulk path.
+     * @param context The running application context.
+     * @param count Number of items to insert.
+     * @return The IDs of the inserted items.
+     */
+    static long[] seed(ConfigurableApplicationContext context, int count) {
+        context.getBean(ItemRepository.class).deleteAllInBatch();
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(newItem(i));
+        }
+        context.getBean(ItemService.class).createAll(items.iterator());
+        return context.getBean(ItemRepository.class).findAllIds().stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * Sets every item back to {@code NEW} with one bulk UPDATE, so the next processing run writes all of them again
+     * instead of finding nothing to change. Takes a fraction of the time of reseeding the table.
+     * @param context The running application context.
+     * @return The number of items reset.
+     */
+    static int resetStatuses(ConfigurableApplicationContext context) {
+        ItemRepository itemRepository = context.getBean(ItemRepository.class);
+        return context.getBean(TransactionTemplate.class).execute(status ->
+                itemRepository.updateStatusInRange("NEW", 0L, Long.MAX_VALUE));
+    }
+
+    static Item newItem(int i) {
+        return new Item(null, "Item " + i, "Description " + i, "NEW", "item" + i + "@example.com");
+    }
+}
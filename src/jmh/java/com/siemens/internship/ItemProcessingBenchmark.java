@@ -0,0 +1,71 @@
+package com.siemens.internship;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the latency of {@link ItemService#processItemsAsync()} over the whole table, for several table sizes
+ * and executor configurations. Sample-time mode reports the latency percentiles; throughput in items per second
+ * is {@code itemCount} divided by the reported time.
+ *
+ * Processing sets every item to {@code PROCESSED}, after which a run finds nothing to write. The statuses are
+ * therefore reset before every invocation, outside the measured time, so each invocation writes all
+ * {@code itemCount} items. Every invocation takes milliseconds at least, so the per-invocation set-up does not
+ * distort the timing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ItemProcessingBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int itemCount;
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    private ItemProcessingProperties.ExecutorType executorType;
+
+    /**
+     * Platform pool size and maximum number of chunks holding a connection at once;
+     * the Hikari pool is sized to match.
+     */
+    @Param({"2", "10", "32"})
+    private int executorSize;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContexts.start("item-processing-benchmark",
+                "items.processing.executor.type=" + executorType,
+                "items.processing.executor.pool-size=" + executorSize,
+                "items.processing.executor.max-concurrency=" + executorSize,
+                "spring.datasource.hikari.maximum-pool-size=" + executorSize);
+        itemService = context.getBean(ItemService.class);
+        BenchmarkContexts.seed(context, itemCount);
+    }
+
+    @Setup(Level.Invocation)
+    public void resetStatuses() {
+        int reset = BenchmarkContexts.resetStatuses(context);
+        if (reset != itemCount) {
+            throw new IllegalStateException("Expected " + itemCount + " items to process, found " + reset);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Item> processItemsAsync() throws Exception {
+        return itemService.processItemsAsync().get();
+    }
+}
@@ -0,0 +1,26 @@
+package com.siemens.internship;
+
+/**
+ * Outcome of a single element of a bulk request.
+ */
+public enum BulkItemOutcome {
+    CREATED(true),
+    UPDATED(true),
+    DELETED(true),
+    NOT_FOUND(false),
+    INVALID(false),
+    FAILED(false);
+
+    private final boolean success;
+
+    BulkItemOutcome(boolean success) {
+        this.success = success;
+    }
+
+    /**
+     * @return true if the element was written, false if it was skipped or its chunk failed.
+     */
+    public boolean isSuccess() {
+        return success;
+    }
+}
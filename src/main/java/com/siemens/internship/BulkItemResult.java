@@ -0,0 +1,21 @@
+package com.siemens.internship;
+
+import java.util.List;
+
+/**
+ * Result of a single element of a bulk request.
+ *
+ * @param index   Zero-based position of the element in the request
+ * @param id      ID of the item, or {@code null} if it has none
+ * @param outcome What happened to the element
+ * @param errors  Validation or database errors; empty when the element succeeded
+ */
+public record BulkItemResult(int index, Long id, BulkItemOutcome outcome, List<String> errors) {
+
+    /**
+     * Creates a result without errors.
+     */
+    public static BulkItemResult of(int index, Long id, BulkItemOutcome outcome) {
+        return new BulkItemResult(index, id, outcome, List.of());
+    }
+}
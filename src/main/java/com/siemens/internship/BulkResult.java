@@ -0,0 +1,13 @@
+package com.siemens.internship;
+
+import java.util.List;
+
+/**
+ * Response of a bulk request.
+ *
+ * @param succeeded Number of elements that were created, updated or deleted
+ * @param failed    Number of elements that were invalid, not found or failed
+ * @param items     Result of every element, in request order
+ */
+public record BulkResult(int succeeded, int failed, List<BulkItemResult> items) {
+}
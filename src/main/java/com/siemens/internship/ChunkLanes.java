@@ -0,0 +1,62 @@
+package com.siemens.internship;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs a stream of chunks on an executor with a fixed number of chunks in flight, without any thread waiting.
+ *
+ * Each lane is a chain of tasks: a task takes the next chunk from the source, processes it and then submits the
+ * next task of its lane. A chunk is therefore only read once a lane is free, which bounds the executor queue like a
+ * semaphore would, but no lane task ever blocks on another task of the same executor. This only keeps a small pool
+ * from starving if the caller does not wait for the returned future on a thread of that executor either, so compose
+ * on the future instead of joining it, and do not return it from an {@code @Async} method running on the executor.
+ */
+public final class ChunkLanes {
+
+    private ChunkLanes() {
+    }
+
+    /**
+     * Starts the lanes and returns immediately.
+     * @param executor The executor that runs every step of every lane.
+     * @param lanes The number of chunks processed at once.
+     * @param source Returns the next chunk, or null once there are no more; called concurrently by the lanes.
+     * @param task Processes one chunk. If it throws, its lane stops and the returned future fails once the
+     *             other lanes have finished the remaining chunks.
+     * @return A future that completes when every lane has stopped.
+     */
+    public static <T> CompletableFuture<Void> run(Executor executor, int lanes, Supplier<T> source, Consumer<T> task) {
+        CompletableFuture<?>[] finished = new CompletableFuture<?>[lanes];
+        for (int i = 0; i < lanes; i++) {
+            CompletableFuture<Void> lane = new CompletableFuture<>();
+            finished[i] = lane;
+            submitNext(executor, source, task, lane);
+        }
+        return CompletableFuture.allOf(finished);
+    }
+
+    private static <T> void submitNext(Executor executor, Supplier<T> source, Consumer<T> task, CompletableFuture<Void> lane) {
+        try {
+            executor.execute(() -> {
+                try {
+                    T chunk = source.get();
+                    if (chunk == null) {
+                        lane.complete(null);
+                        return;
+                    }
+                    task.accept(chunk);
+                } catch (Throwable e) {
+                    lane.completeExceptionally(e);
+                    return;
+                }
+                submitNext(executor, source, task, lane);
+            });
+        } catch (RejectedExecutionException e) {
+            lane.completeExceptionally(e);
+        }
+    }
+}
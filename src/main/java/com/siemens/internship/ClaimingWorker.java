@@ -0,0 +1,84 @@
+package com.siemens.internship;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Processes pending items by claiming them in the database one chunk at a time.
+ *
+ * Any number of workers, on any number of instances sharing the database, can run at once: each claim marks its
+ * items with the worker ID and a random claim token in one conditional UPDATE, so every item is handed to exactly
+ * one claim, even when two workers share a worker ID. Items of a chunk
+ * that fails keep their claim until it expires; they are then picked up again by the next claiming run, on any
+ * instance, as are the items of an instance that stopped while holding claims.
+ */
+public class ClaimingWorker {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ClaimingWorker.class);
+
+    private final String workerId;
+    private final ItemChunkProcessor chunkProcessor;
+    private final ProcessingExecutor executor;
+    private final int chunkSize;
+    private final Duration claimTimeout;
+
+    /**
+     * Creates a worker.
+     * @param workerId The name the items are claimed under, for diagnostics; claims are told apart by their token.
+     * @param chunkProcessor Claims the chunks.
+     * @param executor Runs the chunk tasks.
+     * @param chunkSize Maximum number of items claimed at once.
+     * @param claimTimeout How long a claim lasts before other workers may take it over.
+     */
+    public ClaimingWorker(String workerId, ItemChunkProcessor chunkProcessor, ProcessingExecutor executor,
+                          int chunkSize, Duration claimTimeout) {
+        this.workerId = workerId;
+        this.chunkProcessor = chunkProcessor;
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+        this.claimTimeout = claimTimeout;
+    }
+
+    /**
+     * Claims and processes chunks until no claimable item is left, and returns immediately.
+     * The chunks run in {@link ChunkLanes lanes} on the executor: a lane only claims a new chunk once its previous
+     * chunk has finished, so claims are not held longer than needed, and no task ever waits for another task of the
+     * executor. The claims of one worker are made one at a time, so its lanes never compete for the same items.
+     * @param concurrency Maximum number of chunks in flight at once.
+     * @param chunkTask The work to run for each claim; should handle its own failures.
+     * @return A future that completes with the number of chunks claimed, once all of them have been processed.
+     */
+    public CompletableFuture<Integer> run(int concurrency, Consumer<ItemClaim> chunkTask) {
+        AtomicInteger claimed = new AtomicInteger();
+        AtomicInteger contended = new AtomicInteger();
+        Object claimLock = new Object();
+
+        Supplier<ItemClaim> nextClaim = () -> {
+            synchronized (claimLock) {
+                while (true) {
+                    ItemClaim claim = executor.withConnectionPermit(() -> chunkProcessor.claimChunk(workerId, chunkSize, claimTimeout));
+                    if (!claim.ids().isEmpty()) {
+                        claimed.incrementAndGet();
+                        return claim;
+                    }
+                    if (claim.isExhausted()) {
+                        return null;
+                    }
+                    // Every candidate was claimed by another worker at the same time; the next query skips them
+                    contended.incrementAndGet();
+                }
+            }
+        };
+
+        return ChunkLanes.run(executor, concurrency, nextClaim, chunkTask).thenApply(v -> {
+            LOGGER.info("Worker {} processed {} claimed chunks of up to {} items, {} claims lost to other workers",
+                    workerId, claimed.get(), chunkSize, contended.get());
+            return claimed.get();
+        });
+    }
+}
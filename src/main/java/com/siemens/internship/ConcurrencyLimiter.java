@@ -0,0 +1,155 @@
+package com.siemens.internship;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntSupplier;
+
+/**
+ * Limits how many processing tasks use the database at once, adapting the limit to how loaded the database is.
+ *
+ * The limit follows additive increase, multiplicative decrease: it grows by about one for every limit's worth of
+ * calls that completed without congestion, and shrinks by {@value #BACKOFF_RATIO} once per limit's worth of calls
+ * while there is congestion. Congestion is signalled by other threads waiting for a pooled connection, or by the
+ * recent latency of the calls rising above the tolerance times its long-term average, so processing yields
+ * connections to live traffic as soon as the pool or the database slows down.
+ * With equal minimum and maximum limits it acts as a plain fixed-size semaphore.
+ */
+public class ConcurrencyLimiter {
+
+    /**
+     * Factor the limit is multiplied by when congestion is detected.
+     */
+    private static final double BACKOFF_RATIO = 0.8;
+
+    /**
+     * Weights of the newest call latency in the short- and long-term moving averages.
+     */
+    private static final double SHORT_SMOOTHING = 0.5;
+    private static final double LONG_SMOOTHING = 0.05;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double latencyTolerance;
+    private final IntSupplier poolWaiters;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition permitReleased = lock.newCondition();
+    private double limit;
+    private int inFlight;
+    private int waiting;
+    private int callsSinceDecrease;
+    private double shortLatency = Double.NaN;
+    private double longLatency = Double.NaN;
+
+    /**
+     * Creates an adaptive limiter, starting at the maximum limit.
+     * @param minLimit The limit is never lowered below this.
+     * @param maxLimit The limit is never raised above this; usually the size of the connection pool.
+     * @param latencyTolerance How many times its long-term average the recent latency may reach before the limit is lowered.
+     * @param poolWaiters Number of threads currently waiting for a connection from the pool.
+     */
+    public ConcurrencyLimiter(int minLimit, int maxLimit, double latencyTolerance, IntSupplier poolWaiters) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= max, were " + minLimit + " and " + maxLimit);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTolerance = latencyTolerance;
+        this.poolWaiters = poolWaiters;
+        this.limit = maxLimit;
+    }
+
+    /**
+     * Creates a limiter that never changes its limit.
+     * @param limit Number of calls allowed at once.
+     */
+    public static ConcurrencyLimiter fixed(int limit) {
+        return new ConcurrencyLimiter(limit, limit, Double.POSITIVE_INFINITY, () -> 0);
+    }
+
+    /**
+     * Waits until the number of calls in flight is below the current limit and counts the caller in.
+     * Every call must be followed by {@link #release(long)}.
+     */
+    public void acquire() {
+        lock.lock();
+        try {
+            waiting++;
+            while (inFlight >= (int) limit) {
+                permitReleased.awaitUninterruptibly();
+            }
+            waiting--;
+            inFlight++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Counts a finished call out and adapts the limit to its latency.
+     * @param latencyNanos How long the call took.
+     */
+    public void release(long latencyNanos) {
+        lock.lock();
+        try {
+            inFlight--;
+            if (minLimit < maxLimit) {
+                adapt(latencyNanos);
+            }
+            permitReleased.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void adapt(long latencyNanos) {
+        if (Double.isNaN(longLatency)) {
+            shortLatency = latencyNanos;
+            longLatency = latencyNanos;
+        } else {
+            shortLatency += SHORT_SMOOTHING * (latencyNanos - shortLatency);
+            longLatency += LONG_SMOOTHING * (latencyNanos - longLatency);
+        }
+        callsSinceDecrease++;
+
+        boolean congested = poolWaiters.getAsInt() > 0 || shortLatency > longLatency * latencyTolerance;
+        if (!congested) {
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        } else if (callsSinceDecrease >= limit) {
+            // Wait for a limit's worth of calls made under the lowered limit before lowering it again
+            limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+            callsSinceDecrease = 0;
+        }
+    }
+
+    /**
+     * @return The current limit, rounded down to whole calls.
+     */
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The highest limit this limiter can reach.
+     */
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    /**
+     * @return The number of callers blocked in {@link #acquire()}.
+     */
+    public int getWaiting() {
+        lock.lock();
+        try {
+            return waiting;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.siemens.internship;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs a write again when it fails because a concurrent change of the same item committed first.
+ *
+ * Each attempt must read the items it writes again, so a retry is based on the latest version.
+ * Retries wait an exponentially growing, randomized back-off, so writers that conflicted once do not
+ * collide again in lockstep. Other failures are not retried.
+ */
+public class ConflictRetry {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConflictRetry.class);
+
+    private final int maxAttempts;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+
+    /**
+     * Creates a retry policy.
+     * @param maxAttempts Maximum number of attempts, including the first one.
+     * @param initialBackoff Upper bound of the back-off before the first retry.
+     * @param maxBackoff Upper bound of the back-off before any retry.
+     */
+    public ConflictRetry(int maxAttempts, Duration initialBackoff, Duration maxBackoff) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be at least 1, was " + maxAttempts);
+        }
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffNanos = initialBackoff.toNanos();
+        this.maxBackoffNanos = maxBackoff.toNanos();
+    }
+
+    /**
+     * Creates the retry policy configured by {@code items.processing.retry}.
+     */
+    public ConflictRetry(ItemProcessingProperties.Retry properties) {
+        this(properties.getMaxAttempts(), properties.getInitialBackoff(), properties.getMaxBackoff());
+    }
+
+    /**
+     * Runs the write, retrying it while it fails with an optimistic locking conflict.
+     * @param write The write; must read the items it changes inside the attempt.
+     * @return The result of the first attempt that succeeded.
+     * @throws OptimisticLockingFailureException if every attempt conflicted, or if the thread was interrupted
+     *                                           during a back-off.
+     */
+    public <T> T call(Supplier<T> write) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return write.get();
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    LOGGER.warn("Giving up after {} conflicting attempts: {}", attempt, e.getMessage());
+                    throw e;
+                }
+                long backoffNanos = backoffNanos(attempt);
+                LOGGER.debug("Attempt {} conflicted with a concurrent change, retrying in {} us", attempt, backoffNanos / 1000);
+                try {
+                    Thread.sleep(Duration.ofNanos(backoffNanos));
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs an asynchronous write, retrying it while it fails with an optimistic locking conflict.
+     * The back-off is a timer, so no thread waits between two attempts.
+     * @param write Starts the write; must read the items it changes inside the attempt.
+     * @return A stage completing with the result of the first attempt that succeeded, or failing with the
+     *         {@link OptimisticLockingFailureException} of the last attempt if every attempt conflicted.
+     */
+    public <T> CompletableFuture<T> callAsync(Supplier<? extends CompletionStage<T>> write) {
+        return attemptAsync(write, 1);
+    }
+
+    private <T> CompletableFuture<T> attemptAsync(Supplier<? extends CompletionStage<T>> write, int attempt) {
+        CompletableFuture<T> stage;
+        try {
+            stage = write.get().toCompletableFuture();
+        } catch (RuntimeException e) {
+            stage = CompletableFuture.failedFuture(e);
+        }
+        return stage.handle((result, error) -> {
+            if (error == null) {
+                return CompletableFuture.completedFuture(result);
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (!(cause instanceof OptimisticLockingFailureException) || attempt >= maxAttempts) {
+                if (cause instanceof OptimisticLockingFailureException) {
+                    LOGGER.warn("Giving up after {} conflicting attempts: {}", attempt, cause.getMessage());
+                }
+                return CompletableFuture.<T>failedFuture(cause);
+            }
+            long backoffNanos = backoffNanos(attempt);
+            LOGGER.debug("Attempt {} conflicted with a concurrent change, retrying in {} us", attempt, backoffNanos / 1000);
+            Executor delayed = CompletableFuture.delayedExecutor(backoffNanos, TimeUnit.NANOSECONDS);
+            return CompletableFuture.runAsync(() -> { }, delayed).thenCompose(v -> attemptAsync(write, attempt + 1));
+        }).thenCompose(Function.identity());
+    }
+
+    /**
+     * Full jitter: a random back-off up to the capped exponential bound of the attempt.
+     */
+    private long backoffNanos(int attempt) {
+        long bound = Math.min(maxBackoffNanos, initialBackoffNanos << Math.min(attempt - 1, 30));
+        return bound <= 0 ? 0 : ThreadLocalRandom.current().nextLong(bound + 1);
+    }
+}
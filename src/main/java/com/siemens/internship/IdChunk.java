@@ -0,0 +1,25 @@
+package com.siemens.internship;
+
+import java.util.List;
+
+/**
+ * A chunk of item IDs handed to a processing task, together with the ID interval it covers.
+ * The intervals of consecutive chunks join up, so completed chunks can be merged into a checkpoint
+ * even when IDs are missing between them.
+ *
+ * @param after The last ID covered by the previous chunk (exclusive).
+ * @param upTo  The last ID covered by this chunk (inclusive); at least the last ID of the chunk.
+ * @param ids   The IDs of the items in the chunk, in ascending order; empty if the interval holds no items.
+ */
+public record IdChunk(long after, long upTo, List<Long> ids) {
+
+    /**
+     * Creates a chunk that covers exactly up to its last ID.
+     * @param after The last ID covered by the previous chunk (exclusive).
+     * @param ids The IDs of the items in the chunk; must not be empty.
+     * @return The chunk.
+     */
+    public static IdChunk of(long after, List<Long> ids) {
+        return new IdChunk(after, ids.get(ids.size() - 1), ids);
+    }
+}
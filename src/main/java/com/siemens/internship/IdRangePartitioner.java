@@ -0,0 +1,178 @@
+package com.siemens.internship;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Processes every item of the table by splitting the ID space into ranges walked on the processing executor.
+ *
+ * A range is split in halves until each half is expected to take about the target task duration, based on the
+ * per-item cost measured on the chunks processed so far. Each remaining range is walked with its own keyset cursor,
+ * one chunk at a time, so no list of all IDs is ever built. The walks run in {@link ChunkLanes lanes}: a free lane
+ * takes the lowest range not started yet and splits it on the spot, leaving the upper halves to the other lanes, so
+ * a slow range does not hold up the rest of the run. No thread waits for the run, and every query holds a connection
+ * permit of the executor like the chunks themselves.
+ * The chunks of a range cover it without gaps, up to its last ID, so they can be merged into a job checkpoint.
+ */
+public class IdRangePartitioner {
+    private static final Logger LOGGER = LoggerFactory.getLogger(IdRangePartitioner.class);
+
+    /**
+     * Weight of the newest chunk in the moving average of the per-item cost.
+     */
+    private static final double COST_SMOOTHING = 0.2;
+
+    private final ItemRepository itemRepository;
+    private final ProcessingExecutor executor;
+    private final boolean pendingOnly;
+    private final int chunkSize;
+    private final long targetTaskNanos;
+    private final Consumer<IdChunk> chunkTask;
+    private final AtomicInteger rangeCount = new AtomicInteger();
+    // The ranges not started yet, lowest first
+    private final Deque<long[]> ranges = new ArrayDeque<>();
+
+    // Exponential moving average of the wall time per item; NaN until the first chunk completes
+    private double nanosPerItem = Double.NaN;
+    private double itemsPerId;
+
+    /**
+     * Creates a partitioner for one processing run.
+     * @param itemRepository Reads the ID bounds and the chunks of each range.
+     * @param executor Runs the walks and limits the queries to its connection permits.
+     * @param pendingOnly Whether to walk only the items that are not processed yet.
+     * @param chunkSize Number of IDs handed to the chunk task at once.
+     * @param targetTaskDuration Expected run time of a range that is no longer split.
+     * @param chunkTask The work to run for each chunk of IDs; should handle its own failures.
+     */
+    public IdRangePartitioner(ItemRepository itemRepository, ProcessingExecutor executor, boolean pendingOnly, int chunkSize,
+                              Duration targetTaskDuration, Consumer<IdChunk> chunkTask) {
+        this.itemRepository = itemRepository;
+        this.executor = executor;
+        this.pendingOnly = pendingOnly;
+        this.chunkSize = chunkSize;
+        this.targetTaskNanos = targetTaskDuration.toNanos();
+        this.chunkTask = chunkTask;
+    }
+
+    /**
+     * Starts processing all items after the given ID up to the current maximum ID and returns immediately.
+     * @param parallelism Number of ranges walked at once; should not exceed the number of database connections.
+     * @param itemCount Number of items to walk, used to estimate how many items a range holds.
+     * @param after The ID after which to start, such as the checkpoint of a resumed job; 0 to start at the first item.
+     * @return A future that completes once every range is done.
+     */
+    public CompletableFuture<Void> run(int parallelism, long itemCount, long after) {
+        return CompletableFuture.supplyAsync(() -> executor.withConnectionPermit(() -> pendingOnly
+                        ? new long[]{orZero(itemRepository.findMinPendingId()), orZero(itemRepository.findMaxPendingId())}
+                        : new long[]{orZero(itemRepository.findMinId()), orZero(itemRepository.findMaxId())}), executor)
+                .thenCompose(bounds -> {
+                    long minId = bounds[0];
+                    long maxId = bounds[1];
+                    if (maxId <= after) {
+                        return CompletableFuture.completedFuture(null);
+                    }
+                    long fromId = Math.max(minId, after + 1);
+                    if (fromId > after + 1) {
+                        // Nothing to process below the smallest ID, but the chunks must still join up with the start
+                        chunkTask.accept(new IdChunk(after, fromId - 1, List.of()));
+                    }
+                    itemsPerId = Math.min(1.0, (double) itemCount / (maxId - fromId + 1));
+                    ranges.add(new long[]{fromId, maxId});
+                    return ChunkLanes.run(executor, parallelism, this::nextRange, range -> walk(range[0], range[1]))
+                            .whenComplete((v, e) -> LOGGER.info(
+                                    "Partitioned processing of ids {}..{} used {} ranges in {} lanes, {} ns per item",
+                                    fromId, maxId, rangeCount.get(), parallelism, Math.round(currentNanosPerItem())));
+                });
+    }
+
+    private static long orZero(Long id) {
+        // IDs are always positive, so 0 stands for an empty table
+        return id == null ? 0 : id;
+    }
+
+    /**
+     * @return Number of ranges that were walked by a worker, after splitting.
+     */
+    public int getRangeCount() {
+        return rangeCount.get();
+    }
+
+    /**
+     * Number of items a range may hold before it is split.
+     * Until the first chunk has been measured, ranges are split down to a single chunk.
+     */
+    private synchronized long maxItemsPerRange() {
+        if (Double.isNaN(nanosPerItem) || nanosPerItem <= 0) {
+            return chunkSize;
+        }
+        return Math.max(chunkSize, (long) (targetTaskNanos / nanosPerItem));
+    }
+
+    private synchronized void recordCost(int items, long nanos) {
+        double sample = (double) nanos / items;
+        nanosPerItem = Double.isNaN(nanosPerItem) ? sample : nanosPerItem + COST_SMOOTHING * (sample - nanosPerItem);
+    }
+
+    private synchronized double currentNanosPerItem() {
+        return Double.isNaN(nanosPerItem) ? 0 : nanosPerItem;
+    }
+
+    /**
+     * Takes the lowest range not started yet and splits it while it is expected to take longer than the target,
+     * putting the upper halves back for the other lanes.
+     * @return The inclusive bounds of the range to walk, or null once every range has been taken.
+     */
+    private long[] nextRange() {
+        synchronized (ranges) {
+            long[] range = ranges.pollFirst();
+            if (range == null) {
+                return null;
+            }
+            while (range[1] > range[0] && (range[1] - range[0] + 1) * itemsPerId > maxItemsPerRange()) {
+                long middle = range[0] + (range[1] - range[0]) / 2;
+                ranges.addFirst(new long[]{middle + 1, range[1]});
+                range = new long[]{range[0], middle};
+            }
+            return range;
+        }
+    }
+
+    /**
+     * Walks an inclusive ID range one chunk at a time.
+     */
+    private void walk(long fromId, long toId) {
+        rangeCount.incrementAndGet();
+        long after = fromId - 1;
+        List<Long> ids = nextChunk(after, toId);
+        if (ids.isEmpty()) {
+            chunkTask.accept(new IdChunk(after, toId, ids));
+            return;
+        }
+        while (!ids.isEmpty()) {
+            long lastId = ids.get(ids.size() - 1);
+            // Read ahead, so the last chunk of the range is known and can cover the range up to its end
+            List<Long> following = ids.size() < chunkSize ? List.of() : nextChunk(lastId, toId);
+            long start = System.nanoTime();
+            chunkTask.accept(new IdChunk(after, following.isEmpty() ? toId : lastId, ids));
+            recordCost(ids.size(), System.nanoTime() - start);
+            after = lastId;
+            ids = following;
+        }
+    }
+
+    private List<Long> nextChunk(long after, long toId) {
+        return executor.withConnectionPermit(() -> pendingOnly
+                ? itemRepository.findPendingIdsInRange(after, toId, PageRequest.of(0, chunkSize))
+                : itemRepository.findIdsInRange(after, toId, PageRequest.of(0, chunkSize)));
+    }
+}
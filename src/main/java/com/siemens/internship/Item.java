@@ -1,31 +1,43 @@
 package com.siemens.internship;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotEmpty;
-import jakarta.validation.constraints.Size;
 import jakarta.persistence.Id;
 
-import jakarta.validation.constraints.Email;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.time.Instant;
+
 /**
  * Entity class representing an Item.
  * Contains basic information and status tracking.
  */
 @Entity
+// The status index lets the pending-item count of incremental processing read the index instead of the table;
+// both indexes end with the ID, so filtered keyset pages seek to the cursor and come out in ID order without sorting
+@Table(indexes = {
+        @Index(name = "idx_item_status", columnList = "status, id"),
+        @Index(name = "idx_item_email", columnList = "email, id")
+})
 @Getter
 @Setter
-@AllArgsConstructor
 @NoArgsConstructor
 public class Item {
+    /**
+     * Status assigned to an item once it has been processed.
+     */
+    public static final String STATUS_PROCESSED = "PROCESSED";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @ItemSequence
     private Long id;
 
     private String name;
@@ -35,4 +47,39 @@ public class Item {
     @Email(message = "Please provide a valid email address")
     @NotEmpty(message = "Email cannot be empty")
     private String email;
+
+    /**
+     * Incremented by every write, so a write based on an older read of the item is detected and rejected.
+     * Sent to clients as the ETag of the item; values sent by clients in the body are ignored.
+     */
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
+    /**
+     * The worker that has claimed the item for processing, or null if it is not claimed.
+     */
+    @JsonIgnore
+    private String claimedBy;
+
+    /**
+     * When the item was claimed; a claim older than {@code items.processing.claims.timeout} has expired.
+     */
+    @JsonIgnore
+    private Instant claimedAt;
+
+    /**
+     * Identifies the claim the item was taken in, so a worker finds exactly the items of its own claim even when
+     * several jobs share a worker ID; null if the item is not claimed.
+     */
+    @JsonIgnore
+    private String claimToken;
+
+    public Item(Long id, String name, String description, String status, String email) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.status = status;
+        this.email = email;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,70 @@
+package com.siemens.internship;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Writes one chunk of a bulk request inside a single transaction.
+ * The writes of a chunk are flushed as JDBC batches when the transaction commits.
+ */
+@Component
+public class ItemBulkWriter {
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    /**
+     * Inserts a chunk of new items.
+     * @param items The items to insert; their IDs are ignored.
+     * @return The saved items, in the same order, with their generated IDs.
+     */
+    @Transactional
+    public List<Item> insertAll(List<Item> items) {
+        items.forEach(item -> item.setId(null));
+        return itemRepository.saveAll(items);
+    }
+
+    /**
+     * Overwrites the fields of the existing items of a chunk, loading them with a single query.
+     * @param items The new item data; every item must have an ID.
+     * @return The IDs of the items that existed and were updated.
+     */
+    @Transactional
+    public Set<Long> updateAll(List<Item> items) {
+        Map<Long, Item> existing = itemRepository.findAllById(items.stream().map(Item::getId).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        for (Item item : items) {
+            Item target = existing.get(item.getId());
+            if (target != null) {
+                target.setName(item.getName());
+                target.setDescription(item.getDescription());
+                target.setStatus(item.getStatus());
+                target.setEmail(item.getEmail());
+            }
+        }
+        return existing.keySet();
+    }
+
+    /**
+     * Deletes the existing items of a chunk with a single DELETE statement.
+     * @param ids The IDs of the items to delete.
+     * @return The IDs of the items that existed and were deleted.
+     */
+    @Transactional
+    public Set<Long> deleteAll(List<Long> ids) {
+        Set<Long> existing = new HashSet<>(itemRepository.findExistingIds(ids));
+        if (!existing.isEmpty()) {
+            itemRepository.deleteAllByIdInBatch(existing);
+        }
+        return existing;
+    }
+}
@@ -0,0 +1,51 @@
+package com.siemens.internship;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+
+/**
+ * Enables Spring's cache abstraction for items.
+ * The cache itself is a bounded Caffeine cache configured through {@code spring.cache.caffeine.spec};
+ * its hit, miss and eviction counts are published by Actuator under the {@code cache.*} metrics.
+ * Items changed inside a transaction are evicted through {@link #evictItems(CacheManager, Collection)} rather than
+ * {@code @CacheEvict}, so the eviction waits for the commit.
+ */
+@Configuration
+@EnableCaching
+public class ItemCacheConfig {
+
+    /**
+     * Name of the cache holding items by ID.
+     */
+    public static final String ITEMS_CACHE = "items";
+
+    /**
+     * Evicts items from the item cache once the current transaction has committed, or right away outside a transaction.
+     * Evicting before the commit would let a concurrent read cache an item again as it was before the change;
+     * if the transaction rolls back, nothing is evicted.
+     * @param cacheManager The cache manager holding the item cache.
+     * @param ids The IDs of the items to evict.
+     */
+    public static void evictItems(CacheManager cacheManager, Collection<Long> ids) {
+        Cache cache = cacheManager.getCache(ITEMS_CACHE);
+        if (cache == null || ids.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            ids.forEach(cache::evict);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                ids.forEach(cache::evict);
+            }
+        });
+    }
+}
@@ -0,0 +1,171 @@
+package com.siemens.internship;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Processes one chunk of items inside a single transaction.
+ * Kept as a separate bean so that the transactional proxy applies when it is called from {@link ItemService}.
+ */
+@Component
+public class ItemChunkProcessor {
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemProcessingPipeline pipeline;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Loads all items of the chunk with one query and runs them through the {@link ItemProcessingPipeline}.
+     * If the processors complete right away, as the built-in status update does, the items are written back in
+     * this transaction and flushed as a single JDBC batch when it commits. Otherwise the items are detached and
+     * the transaction ends without writing, so no connection is held while the processors wait; the caller
+     * writes them with {@link #saveProcessedChunk(List)} once they are done.
+     * If an item was changed by someone else after it was loaded, the version check fails the write
+     * and the whole chunk is rolled back, so it can be retried from the start.
+     *
+     * @param ids The IDs of the items in the chunk.
+     * @return The chunk, written or still being processed; IDs that no longer exist are silently skipped.
+     */
+    @Transactional
+    public ProcessedChunk processChunk(List<Long> ids) {
+        return process(itemRepository.findAllById(ids), pipeline::processBatch);
+    }
+
+    /**
+     * Writes back a chunk whose processors completed after {@link #processChunk(List)} returned.
+     * The current rows are loaded with one query first, so merging the processed items needs no further reads
+     * and fails with an optimistic locking conflict if any of them changed in the meantime.
+     *
+     * @param items The processed items.
+     * @return The written items.
+     */
+    @Transactional
+    public List<Item> saveProcessedChunk(List<Item> items) {
+        itemRepository.findAllById(items.stream().map(Item::getId).collect(Collectors.toList()));
+        return itemRepository.saveAll(items);
+    }
+
+    /**
+     * Marks every item with an ID in the given range as processed using a single bulk UPDATE.
+     * No entity is loaded, so the cost does not depend on the size of the items.
+     *
+     * @param fromId The first ID of the range (inclusive).
+     * @param toId The last ID of the range (inclusive).
+     * @return The number of items updated.
+     */
+    @Transactional
+    public int markChunkProcessed(Long fromId, Long toId) {
+        return itemRepository.updateStatusInRange(Item.STATUS_PROCESSED, fromId, toId);
+    }
+
+    /**
+     * Marks the pending items with an ID in the given range as processed using a single bulk UPDATE.
+     * Items that are already processed are not rewritten.
+     *
+     * @param fromId The first ID of the range (inclusive).
+     * @param toId The last ID of the range (inclusive).
+     * @return The number of items updated.
+     */
+    @Transactional
+    public int markPendingChunkProcessed(Long fromId, Long toId) {
+        return itemRepository.markPendingProcessedInRange(fromId, toId);
+    }
+
+    /**
+     * Claims the next chunk of pending items for a worker.
+     * Items claimed by another worker are skipped unless that claim has expired, so concurrent workers
+     * on any number of instances never claim the same item. Every claim writes its own random token, so two
+     * claims under the same worker ID, such as two jobs on one instance, never find each other's items.
+     * The claim increments the version of its items, which is what fails a slower worker's write after a takeover,
+     * so the claimed items are evicted from the cache once it commits; otherwise a chunk that then fails would leave
+     * clients with a stale version and every conditional update of those items would be rejected.
+     *
+     * @param workerId The worker claiming the items.
+     * @param chunkSize Maximum number of items to claim.
+     * @param claimTimeout How long a claim lasts before other workers may take it over.
+     * @return The result of the claim.
+     */
+    @Transactional
+    public ItemClaim claimChunk(String workerId, int chunkSize, Duration claimTimeout) {
+        Instant claimedAt = Instant.now();
+        List<Long> candidates = itemRepository.findClaimableIds(claimedAt.minus(claimTimeout), PageRequest.of(0, chunkSize));
+        if (candidates.isEmpty()) {
+            return new ItemClaim(0, null, List.of());
+        }
+        String token = UUID.randomUUID().toString();
+        itemRepository.claim(candidates, workerId, token, claimedAt, claimedAt.minus(claimTimeout));
+        List<Long> claimed = itemRepository.findClaimedIds(candidates, token);
+        ItemCacheConfig.evictItems(cacheManager, claimed);
+        return new ItemClaim(candidates.size(), token, claimed);
+    }
+
+    /**
+     * Loads the items of a chunk that are still held by the given claim, runs them through the
+     * {@link ItemProcessingPipeline} and releases the claim, writing them back as {@link #processChunk(List)} does.
+     * Items whose claim has been taken over by another claim are skipped; a takeover while the processors
+     * are still running increments the version, so the later write fails instead of overwriting the new owner.
+     *
+     * @param ids The IDs of the claimed items.
+     * @param claimToken The token of the claim they were taken in.
+     * @return The chunk, written or still being processed.
+     */
+    @Transactional
+    public ProcessedChunk processClaimedChunk(List<Long> ids, String claimToken) {
+        return process(itemRepository.findClaimedWith(ids, claimToken), items -> pipeline.processBatch(items).thenApply(processed -> {
+            processed.forEach(item -> {
+                item.setClaimedBy(null);
+                item.setClaimToken(null);
+                item.setClaimedAt(null);
+            });
+            return processed;
+        }));
+    }
+
+    /**
+     * Runs loaded items through the processors, writing them right away if the processors completed synchronously.
+     */
+    private ProcessedChunk process(List<Item> items, Function<List<Item>, CompletionStage<List<Item>>> processors) {
+        CompletableFuture<List<Item>> processed = processors.apply(items).toCompletableFuture();
+        if (processed.isDone()) {
+            return ProcessedChunk.written(itemRepository.saveAll(processed.join()));
+        }
+        // Processors still running may change the items; detach them so the commit cannot write half of it
+        entityManager.clear();
+        return ProcessedChunk.pending(processed);
+    }
+
+    /**
+     * Marks the items of a chunk that are still held by the given claim as processed with a single bulk UPDATE,
+     * releasing the claim.
+     *
+     * @param ids The IDs of the claimed items.
+     * @param claimToken The token of the claim they were taken in.
+     * @return The number of items updated.
+     */
+    @Transactional
+    public int markClaimedChunkProcessed(List<Long> ids, String claimToken) {
+        return itemRepository.markClaimedProcessed(ids, claimToken);
+    }
+}
@@ -0,0 +1,20 @@
+package com.siemens.internship;
+
+import java.util.List;
+
+/**
+ * Outcome of an attempt to claim a chunk of pending items.
+ *
+ * @param candidates Number of claimable items found; items taken by another worker at the same time are not claimed
+ * @param token      Random token written on every item of this claim; the claimed items are processed by it
+ * @param ids        IDs of the items claimed by this worker, in ascending order
+ */
+public record ItemClaim(int candidates, String token, List<Long> ids) {
+
+    /**
+     * @return true if no claimable item was left.
+     */
+    public boolean isExhausted() {
+        return candidates == 0;
+    }
+}
@@ -1,39 +1,160 @@
 package com.siemens.internship;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
 import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
-import java.util.logging.Level;
-import java.util.logging.Logger;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/api/items")
+// Built on the servlet API; with the reactive profile, ReactiveItemRoutes serves the read endpoints instead
+@Profile("!reactive")
 /**
  * Controller class for managing items.
  * Provides RESTful endpoints for CRUD operations and processing items asynchronously.
  */
 public class ItemController {
-    private static final Logger LOGGER = Logger.getLogger(ItemController.class.getName());
+    private static final Logger LOGGER = LoggerFactory.getLogger(ItemController.class);
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int DEFAULT_PAGE_SIZE = 100;
+
+    /**
+     * Stands for an If-Match ETag that is not an item version; versions start at 0, so it matches no item.
+     */
+    private static final long UNMATCHABLE_VERSION = -1;
+
+    /**
+     * Names of the Server-Sent Events sent while streaming a processing job.
+     */
+    private static final String PROGRESS_EVENT = "progress";
+    private static final String ITEMS_EVENT = "items";
+    private static final String COMPLETE_EVENT = "complete";
 
     @Autowired
     private ItemService itemService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ItemProcessingProperties processingProperties;
+
     /**
      * Endpoint to retrieve all items
-     * @return ResponseEntity containing list of all items
+     * Only the ID, name and status of each item are returned; the full item is available through its ID.
+     * @return ResponseEntity containing the summaries of all items
      */
     @GetMapping
-    public ResponseEntity<List<Item>> getAllItems() {
-        LOGGER.info("GET request received for all items");
-        return new ResponseEntity<>(itemService.findAll(), HttpStatus.OK);
+    public ResponseEntity<List<ItemSummary>> getAllItems() {
+        LOGGER.debug("GET request received for all items");
+        return new ResponseEntity<>(itemService.findAllSummaries(), HttpStatus.OK);
+    }
+
+    /**
+     * Endpoint to retrieve items one page at a time using keyset pagination
+     * @param after The cursor returned with the previous page; omit it for the first page
+     * @param limit Page size, between 1 and {@value #MAX_PAGE_SIZE}
+     * @return ResponseEntity with the page and the cursor of the next page
+     */
+    @GetMapping(params = {"limit", "!status", "!email"})
+    public ResponseEntity<ItemPage> getItemPage(@RequestParam(defaultValue = "0") Long after, @RequestParam int limit) {
+        LOGGER.debug("GET request received for items after id {} with limit {}", after, limit);
+        if (after < 0 || limit < 1 || limit > MAX_PAGE_SIZE) {
+            LOGGER.warn("Invalid page request: after={}, limit={}", after, limit);
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        return new ResponseEntity<>(itemService.findPage(after, limit), HttpStatus.OK);
+    }
+
+    /**
+     * Endpoint to retrieve the items with a status, and optionally an email, one page at a time
+     * The filters are applied by the database through its indexes, so clients no longer page through all items.
+     * @param status The status to match
+     * @param email The email to match; omit it to match any email
+     * @param after The cursor returned with the previous page; omit it for the first page
+     * @param limit Page size, between 1 and {@value #MAX_PAGE_SIZE}
+     * @return ResponseEntity with the page and the cursor of the next page
+     */
+    @GetMapping(params = "status")
+    public ResponseEntity<ItemPage> getItemPageByStatus(@RequestParam String status,
+                                                        @RequestParam(required = false) String email,
+                                                        @RequestParam(defaultValue = "0") Long after,
+                                                        @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        LOGGER.debug("GET request received for items with status {} and email {} after id {}", status, email, after);
+        return getFilteredItemPage(status, email, after, limit);
+    }
+
+    /**
+     * Endpoint to retrieve the items with an email, one page at a time
+     * @param email The email to match
+     * @param after The cursor returned with the previous page; omit it for the first page
+     * @param limit Page size, between 1 and {@value #MAX_PAGE_SIZE}
+     * @return ResponseEntity with the page and the cursor of the next page
+     */
+    @GetMapping(params = {"email", "!status"})
+    public ResponseEntity<ItemPage> getItemPageByEmail(@RequestParam String email,
+                                                       @RequestParam(defaultValue = "0") Long after,
+                                                       @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        LOGGER.debug("GET request received for items with email {} after id {}", email, after);
+        return getFilteredItemPage(null, email, after, limit);
+    }
+
+    private ResponseEntity<ItemPage> getFilteredItemPage(String status, String email, Long after, int limit) {
+        if (after < 0 || limit < 1 || limit > MAX_PAGE_SIZE) {
+            LOGGER.warn("Invalid page request: after={}, limit={}", after, limit);
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        return new ResponseEntity<>(itemService.findPage(status, email, after, limit), HttpStatus.OK);
+    }
+
+    /**
+     * Endpoint to count the items of every status
+     * @return ResponseEntity with the total and the count of every status
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<ItemStats> getItemStats() {
+        LOGGER.debug("GET request received for item stats");
+        return new ResponseEntity<>(itemService.getStats(), HttpStatus.OK);
+    }
+
+    /**
+     * Endpoint to stream all items as newline-delimited JSON
+     * Items are written to the response as they are read, so the table is never loaded into memory at once.
+     * @return ResponseEntity with a body that streams one item per line
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllItems() {
+        LOGGER.debug("GET request received to stream all items");
+        StreamingResponseBody body = out -> {
+            NdjsonWriter writer = new NdjsonWriter(objectMapper, out);
+            itemService.streamAll(item -> writer.write(ItemResponse.from(item)));
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     /**
@@ -43,89 +164,359 @@ public class ItemController {
      * @return ResponseEntity with the created item or error
      */
     @PostMapping
-    public ResponseEntity<Item> createItem(@Valid @RequestBody Item item, BindingResult result) {
-        LOGGER.info("POST request received to create new item");
+    public ResponseEntity<ItemResponse> createItem(@Valid @RequestBody Item item, BindingResult result) {
+        LOGGER.debug("POST request received to create new item");
 
         if (result.hasErrors()) {
-            LOGGER.warning("Validation errors found: " + result.getAllErrors());
+            LOGGER.warn("Validation errors found: {}", result.getAllErrors());
             return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
         }
-        return new ResponseEntity<>(itemService.save(item), HttpStatus.CREATED);
+        // The item is created under a new ID; saving it under a client-chosen ID would overwrite an existing item
+        item.setId(null);
+        return new ResponseEntity<>(ItemResponse.from(itemService.save(item)), HttpStatus.CREATED);
     }
 
     /**
      * Endpoint to retrieve a specific item by ID
+     * The version of the item is returned as its ETag, to be sent back in the If-Match header of a later update.
      * @param id The ID of the item to retrieve
      * @return ResponseEntity with the item if found
      */
     //Change the status code
     @GetMapping("/{id}")
-    public ResponseEntity<Item> getItemById(@PathVariable Long id) {
-        LOGGER.info("GET request received for item with id: " + id);
+    public ResponseEntity<ItemResponse> getItemById(@PathVariable Long id) {
+        LOGGER.debug("GET request received for item with id: {}", id);
         return itemService.findById(id)
-                .map(item -> new ResponseEntity<>(item, HttpStatus.OK))
+                .map(item -> withETag(ResponseEntity.ok(), item.getVersion()).body(ItemResponse.from(item)))
                 .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
     /**
      * Endpoint to update an existing item
+     * The item is updated with a single statement; the number of affected rows tells whether it existed.
+     * With an If-Match header, the item is only updated if it is still at the version of that ETag,
+     * so a change made by someone else in the meantime is not silently overwritten.
      * @param id The ID of the item to update
+     * @param ifMatch The ETag of the version the new data is based on; omit it to overwrite any version
      * @param item The new item data
-     * @return ResponseEntity with the updated item
+     * @param result Validation result
+     * @return ResponseEntity with the updated item and, for a conditional update, its new ETag;
+     *         status 412 if the item has changed since the If-Match version
      */
-    //Change the status code
     @PutMapping("/{id}")
-    public ResponseEntity<Item> updateItem(@PathVariable Long id, @RequestBody Item item) {
-        LOGGER.info("PUT request received to update item with id: " + id);
-        Optional<Item> existingItem = itemService.findById(id);
-        if (existingItem.isPresent()) {
-            item.setId(id);
-            return new ResponseEntity<>(itemService.save(item), HttpStatus.OK);
-        } else {
-            LOGGER.warning("Update failed: Item not found with id: " + id);
-            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+    public ResponseEntity<ItemResponse> updateItem(@PathVariable Long id, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                   @Valid @RequestBody Item item, BindingResult result) {
+        LOGGER.debug("PUT request received to update item with id: {}", id);
+
+        if (result.hasErrors()) {
+            LOGGER.warn("Validation errors found: {}", result.getAllErrors());
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        try {
+            return itemService.update(id, item, parseIfMatch(ifMatch))
+                    .map(updatedItem -> withETag(ResponseEntity.ok(), updatedItem.getVersion()).body(ItemResponse.from(updatedItem)))
+                    .orElseGet(() -> {
+                        LOGGER.warn("Update failed: Item not found with id: {}", id);
+                        return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+                    });
+        } catch (OptimisticLockingFailureException e) {
+            LOGGER.warn("Update rejected: {}", e.getMessage());
+            return new ResponseEntity<>(HttpStatus.PRECONDITION_FAILED);
         }
     }
 
     /**
      * Endpoint to delete an item
+     * The item is deleted with a single statement; the number of affected rows tells whether it existed.
      * @param id The ID of the item to delete
-     * @return ResponseEntity indicating success or failure
+     * @param ifMatch The ETag of the version the client has seen; omit it to delete any version
+     * @return ResponseEntity indicating success or failure; status 412 if the item has changed since the If-Match version
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteItem(@PathVariable Long id) {
-        LOGGER.info("DELETE request received for item with id: " + id);
-        /**itemService.deleteById(id);
-        return new ResponseEntity<>(HttpStatus.CONFLICT);
-         */
-        if (itemService.findById(id).isPresent()) {
-            itemService.deleteById(id);
-            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
-        } else {
-            LOGGER.warning("Delete failed: Item not found with id: " + id);
-            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+    public ResponseEntity<Void> deleteItem(@PathVariable Long id, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        LOGGER.debug("DELETE request received for item with id: {}", id);
+
+        try {
+            if (itemService.deleteIfExists(id, parseIfMatch(ifMatch))) {
+                return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+            }
+        } catch (OptimisticLockingFailureException e) {
+            LOGGER.warn("Delete rejected: {}", e.getMessage());
+            return new ResponseEntity<>(HttpStatus.PRECONDITION_FAILED);
+        }
+        LOGGER.warn("Delete failed: Item not found with id: {}", id);
+        return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+    }
+
+    /**
+     * Reads the item version from an If-Match header.
+     * Item ETags are strong and hold the version, so a weak or foreign ETag never matches.
+     * @param ifMatch The header value, or null if the header is absent
+     * @return The version, {@value #UNMATCHABLE_VERSION} if the header cannot match any version,
+     *         or null if the header is absent or "*" (any version matches)
+     */
+    private static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            return UNMATCHABLE_VERSION;
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            return UNMATCHABLE_VERSION;
+        }
+    }
+
+    /**
+     * Copies processed items into their API view.
+     */
+    private static List<ItemResponse> toResponses(List<Item> items) {
+        return items.stream().map(ItemResponse::from).toList();
+    }
+
+    /**
+     * Adds the item version as the ETag of a response, if it is known.
+     */
+    private static ResponseEntity.BodyBuilder withETag(ResponseEntity.BodyBuilder response, Long version) {
+        return version == null ? response : response.eTag("\"" + version + "\"");
+    }
+
+    /**
+     * Endpoint to create many items in one request
+     * The body is a JSON array or a newline-delimited JSON stream of items. Every item is validated on its own
+     * and the valid ones are inserted in JDBC-batched chunks, so invalid items do not reject the whole request.
+     * @param body The raw request body, read one item at a time
+     * @return ResponseEntity with the outcome of every item, or status 400 if the body is not valid JSON
+     */
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkResult> createItems(InputStream body) {
+        LOGGER.debug("POST request received to create items in bulk");
+        return readBulk(body, Item.class, itemService::createAll);
+    }
+
+    /**
+     * Endpoint to update many items in one request
+     * The body is a JSON array or a newline-delimited JSON stream of items, each carrying its ID.
+     * @param body The raw request body, read one item at a time
+     * @return ResponseEntity with the outcome of every item, or status 400 if the body is not valid JSON
+     */
+    @PutMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkResult> updateItems(InputStream body) {
+        LOGGER.debug("PUT request received to update items in bulk");
+        return readBulk(body, Item.class, itemService::updateAll);
+    }
+
+    /**
+     * Endpoint to delete many items in one request
+     * The body is a JSON array or a newline-delimited JSON stream of item IDs.
+     * @param body The raw request body, read one ID at a time
+     * @return ResponseEntity with the outcome of every ID, or status 400 if the body is not valid JSON
+     */
+    @DeleteMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkResult> deleteItems(InputStream body) {
+        LOGGER.debug("DELETE request received to delete items in bulk");
+        return readBulk(body, Long.class, itemService::deleteAll);
+    }
+
+    /**
+     * Reads a bulk request body lazily and hands its elements to the service.
+     * Jackson unwraps a top-level JSON array, and reads whitespace-separated values one after another,
+     * so the same reader handles both arrays and newline-delimited JSON.
+     * A malformed element ends the request with status 400; chunks written before it stay committed.
+     */
+    private <T> ResponseEntity<BulkResult> readBulk(InputStream body, Class<T> type, Function<Iterator<T>, BulkResult> operation) {
+        try (MappingIterator<T> elements = objectMapper.readerFor(type).readValues(body)) {
+            return new ResponseEntity<>(operation.apply(elements), HttpStatus.OK);
+        } catch (IOException e) {
+            LOGGER.warn("Malformed bulk request body: {}", e.getMessage());
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (RuntimeException e) {
+            // The iterator wraps parse errors in unchecked exceptions
+            if (e instanceof RuntimeJsonMappingException || e.getCause() instanceof JsonProcessingException) {
+                LOGGER.warn("Malformed bulk request body: {}", e.getMessage());
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+            throw e;
         }
     }
 
     /**
-     * Endpoint to process all items asynchronously
-     * @return ResponseEntity with the list of successfully processed items
+     * Endpoint to process all items asynchronously.
+     * The servlet thread is released immediately; the response is written once processing completes.
+     * @param incremental true to process only the items that are not processed yet
+     * @return CompletableFuture of the ResponseEntity with the list of successfully processed items
      */
     @GetMapping("/process")
-    public ResponseEntity<List<Item>> processItems() {
-        LOGGER.info("GET request received to process all items");
+    public CompletableFuture<ResponseEntity<List<ItemResponse>>> processItems(@RequestParam(defaultValue = "false") boolean incremental) {
+        LOGGER.debug("GET request received to process all items");
+
+        return itemService.processItemsAsync(incremental)
+                .thenApply(processedItems -> new ResponseEntity<>(toResponses(processedItems), HttpStatus.OK))
+                .exceptionally(e -> {
+                    LOGGER.error("Error during item processing", e);
+                    return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+                });
+    }
+
+    /**
+     * Endpoint to process all items and report only their IDs and counts.
+     * The servlet thread is released immediately; the response is written once processing completes.
+     * @param mode HYDRATE to load and merge every item, BULK to update the status without loading the items
+     * @param incremental true to process only the items that are not processed yet
+     * @return CompletableFuture of the ResponseEntity with the IDs and counts of the processed items
+     */
+    @GetMapping(value = "/process", params = "mode")
+    public CompletableFuture<ResponseEntity<ProcessingSummary>> processItemIds(@RequestParam ProcessingMode mode,
+                                                                               @RequestParam(defaultValue = "false") boolean incremental) {
+        LOGGER.debug("GET request received to process all items in {} mode", mode);
+
+        return itemService.processItemIdsAsync(mode, ProcessingScheduling.CHUNKED, incremental)
+                .thenApply(summary -> new ResponseEntity<>(summary, HttpStatus.OK))
+                .exceptionally(e -> {
+                    LOGGER.error("Error during item processing", e);
+                    return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+                });
+    }
+
+    /**
+     * Endpoint to start a processing job in the background
+     * @param mode HYDRATE to load and merge every item, BULK to update the status without loading the items
+     * @param scheduling CHUNKED to submit one task per chunk, PARTITIONED to split the ID space into ranges processed
+     *                   in parallel, CLAIMED to claim chunks in the database so several instances can share the work
+     * @param incremental true to process only the items that are not processed yet
+     * @return ResponseEntity with status 202, the initial progress of the job and its location
+     */
+    @PostMapping("/process")
+    public ResponseEntity<ProcessingProgress> startProcessing(@RequestParam(defaultValue = "HYDRATE") ProcessingMode mode,
+                                                              @RequestParam(defaultValue = "CHUNKED") ProcessingScheduling scheduling,
+                                                              @RequestParam(defaultValue = "false") boolean incremental) {
+        LOGGER.debug("POST request received to start a {} processing job", mode);
+        ProcessingJob job = itemService.startProcessing(mode, scheduling, incremental);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/items/process/" + job.getId()))
+                .body(job.toProgress());
+    }
 
+    /**
+     * Endpoint to start a processing job and follow it as a stream of Server-Sent Events
+     * The response starts right away and is written to as the job runs, so no result is ever collected:
+     * an {@value #PROGRESS_EVENT} event with the job progress is sent first and then periodically, an
+     * {@value #ITEMS_EVENT} event with the processed items of every chunk as soon as it commits, and a final
+     * {@value #COMPLETE_EVENT} event with the outcome. The job keeps running if the client disconnects,
+     * and can still be polled through its ID.
+     * @param mode HYDRATE to load and merge every item, BULK to update the status without loading the items;
+     *             BULK jobs only send progress events
+     * @param scheduling How the items are divided into chunks
+     * @param incremental true to process only the items that are not processed yet
+     * @return The emitter the events are sent through
+     */
+    @GetMapping(value = "/process/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamProcessing(@RequestParam(defaultValue = "HYDRATE") ProcessingMode mode,
+                                       @RequestParam(defaultValue = "CHUNKED") ProcessingScheduling scheduling,
+                                       @RequestParam(defaultValue = "false") boolean incremental) {
+        LOGGER.debug("GET request received to stream a {} processing job", mode);
+        SseEmitter emitter = new SseEmitter();
+        AtomicBoolean open = new AtomicBoolean(true);
+        emitter.onCompletion(() -> open.set(false));
+        emitter.onTimeout(() -> open.set(false));
+        emitter.onError(e -> open.set(false));
+
+        ProcessingJob job = itemService.startProcessing(mode, scheduling, incremental,
+                items -> send(emitter, open, SseEmitter.event().name(ITEMS_EVENT).data(toResponses(items), MediaType.APPLICATION_JSON)));
+        send(emitter, open, SseEmitter.event().name(PROGRESS_EVENT).id(job.getId()).data(job.toProgress(), MediaType.APPLICATION_JSON));
+        sendProgressPeriodically(emitter, open, job);
+        job.getCompletion().whenComplete((finished, e) -> {
+            send(emitter, open, SseEmitter.event().name(COMPLETE_EVENT).data(job.toProgress(), MediaType.APPLICATION_JSON));
+            if (open.get()) {
+                emitter.complete();
+            }
+        });
+        return emitter;
+    }
+
+    /**
+     * Sends a progress event every {@code items.processing.stream-progress-interval} until the job finishes
+     * or the client disconnects. The wait is a timer, so no thread is held between two events.
+     */
+    private void sendProgressPeriodically(SseEmitter emitter, AtomicBoolean open, ProcessingJob job) {
+        Executor delayed = CompletableFuture.delayedExecutor(
+                processingProperties.getStreamProgressInterval().toNanos(), TimeUnit.NANOSECONDS);
+        CompletableFuture.runAsync(() -> {
+            if (open.get() && !job.getCompletion().isDone()) {
+                send(emitter, open, SseEmitter.event().name(PROGRESS_EVENT).data(job.toProgress(), MediaType.APPLICATION_JSON));
+                sendProgressPeriodically(emitter, open, job);
+            }
+        }, delayed);
+    }
+
+    /**
+     * Sends an event unless the client has gone away; a failed send marks the stream as closed instead of
+     * failing the chunk that produced the event.
+     * Sending blocks while the client is behind, so a slow client slows down the job instead of filling memory.
+     */
+    private static void send(SseEmitter emitter, AtomicBoolean open, SseEmitter.SseEventBuilder event) {
+        if (!open.get()) {
+            return;
+        }
         try {
-            CompletableFuture<List<Item>> futureItems = itemService.processItemsAsync();
-            List<Item> processedItems = futureItems.get();
-            return new ResponseEntity<>(processedItems, HttpStatus.OK);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            LOGGER.log(Level.SEVERE, "Item processing was interrupted", e);
-            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
-        } catch (ExecutionException e) {
-            LOGGER.log(Level.SEVERE, "Error during item processing", e);
-            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            LOGGER.debug("Processing stream closed by the client: {}", e.getMessage());
+            open.set(false);
+        }
+    }
+
+    /**
+     * Endpoint to poll the progress of a processing job
+     * @param jobId The ID of the job
+     * @return ResponseEntity with the processed, failed and total counts of the job
+     */
+    @GetMapping("/process/{jobId}")
+    public ResponseEntity<ProcessingProgress> getProcessingProgress(@PathVariable String jobId) {
+        return itemService.findJob(jobId)
+                .map(job -> new ResponseEntity<>(job.toProgress(), HttpStatus.OK))
+                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    /**
+     * Endpoint to fetch the items processed by a job, one page at a time
+     * @param jobId The ID of the job
+     * @param page Zero-based page number
+     * @param size Page size, between 1 and {@value #MAX_PAGE_SIZE}
+     * @return ResponseEntity with the requested page of processed items
+     */
+    @GetMapping("/process/{jobId}/results")
+    public ResponseEntity<ProcessingResultsPage> getProcessingResults(@PathVariable String jobId,
+                                                                      @RequestParam(defaultValue = "0") int page,
+                                                                      @RequestParam(defaultValue = "100") int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            LOGGER.warn("Invalid page request for job {}: page={}, size={}", jobId, page, size);
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
+        return itemService.findJob(jobId)
+                .map(job -> new ResponseEntity<>(itemService.findProcessedItems(job, page, size), HttpStatus.OK))
+                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    /**
+     * Endpoint to stream all items processed by a job as newline-delimited JSON
+     * @param jobId The ID of the job
+     * @return ResponseEntity with a body that streams one processed item per line
+     */
+    @GetMapping(value = "/process/{jobId}/results", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamProcessingResults(@PathVariable String jobId) {
+        LOGGER.debug("GET request received to stream the results of job {}", jobId);
+        return itemService.findJob(jobId)
+                .map(job -> {
+                    StreamingResponseBody body = out -> {
+                        NdjsonWriter writer = new NdjsonWriter(objectMapper, out);
+                        itemService.streamProcessedItems(job, item -> writer.write(ItemResponse.from(item)));
+                    };
+                    return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+                })
+                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 }
@@ -0,0 +1,37 @@
+package com.siemens.internship;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * Generates item IDs from the {@value #SEQUENCE_NAME} sequence with the pooled optimizer.
+ * Each sequence call reserves a block of IDs, so a chunk of new items needs one sequence call per block
+ * instead of one per row, and Hibernate can send the inserts as JDBC batches (which IDENTITY columns prevent).
+ *
+ * The block size is read from the {@value #ALLOCATION_SIZE_SETTING} Hibernate setting
+ * ({@code spring.jpa.properties.items.id.allocation_size}) and must match the increment of the database sequence.
+ */
+public class ItemIdGenerator extends SequenceStyleGenerator {
+    public static final String SEQUENCE_NAME = "item_seq";
+    public static final String ALLOCATION_SIZE_SETTING = "items.id.allocation_size";
+    public static final int DEFAULT_ALLOCATION_SIZE = 50;
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) {
+        int allocationSize = serviceRegistry.requireService(ConfigurationService.class)
+                .getSetting(ALLOCATION_SIZE_SETTING, StandardConverters.INTEGER, DEFAULT_ALLOCATION_SIZE);
+        if (allocationSize < 1) {
+            throw new IllegalArgumentException(ALLOCATION_SIZE_SETTING + " must be at least 1, was " + allocationSize);
+        }
+        parameters.put(SEQUENCE_PARAM, SEQUENCE_NAME);
+        parameters.put(INCREMENT_PARAM, String.valueOf(allocationSize));
+        parameters.put(OPT_PARAM, StandardOptimizerDescriptor.POOLED.getExternalName());
+        super.configure(type, parameters, serviceRegistry);
+    }
+}
@@ -0,0 +1,12 @@
+package com.siemens.internship;
+
+import java.util.List;
+
+/**
+ * One page of items returned by keyset pagination.
+ *
+ * @param items      Items of this page, in ascending ID order
+ * @param nextCursor Value to pass as {@code after} to fetch the next page, or {@code null} on the last page
+ */
+public record ItemPage(List<ItemResponse> items, Long nextCursor) {
+}
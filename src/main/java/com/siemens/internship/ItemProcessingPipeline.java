@@ -0,0 +1,50 @@
+package com.siemens.internship;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Applies every {@link ItemProcessor} bean to the items being processed, one after another in {@code @Order}.
+ * A processor starts once the stage of the previous one has completed, so no thread waits in between.
+ */
+@Component
+public class ItemProcessingPipeline {
+    private final List<ItemProcessor> processors;
+
+    /**
+     * Creates the pipeline.
+     * @param processors The processors, in the order they are applied.
+     */
+    public ItemProcessingPipeline(List<ItemProcessor> processors) {
+        this.processors = List.copyOf(processors);
+    }
+
+    /**
+     * Runs one item through every processor.
+     * @param item The item to process.
+     * @return A stage completing with the item to write back.
+     */
+    public CompletionStage<Item> process(Item item) {
+        CompletionStage<Item> stage = CompletableFuture.completedFuture(item);
+        for (ItemProcessor processor : processors) {
+            stage = stage.thenCompose(processor::process);
+        }
+        return stage;
+    }
+
+    /**
+     * Runs a chunk of items through the batch variant of every processor.
+     * @param items The items to process.
+     * @return A stage completing with the items to write back.
+     */
+    public CompletionStage<List<Item>> processBatch(List<Item> items) {
+        CompletionStage<List<Item>> stage = CompletableFuture.completedFuture(items);
+        for (ItemProcessor processor : processors) {
+            stage = stage.thenCompose(processor::processBatch);
+        }
+        return stage;
+    }
+}
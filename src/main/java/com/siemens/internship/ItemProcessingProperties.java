@@ -0,0 +1,226 @@
+package com.siemens.internship;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+
+/**
+ * Configuration properties for item processing, bound from the {@code items.processing} prefix.
+ * Every property has a sensible default so the application runs without any extra configuration.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "items.processing")
+public class ItemProcessingProperties {
+
+    /**
+     * Number of items read, updated and written back together in one transaction.
+     */
+    private int chunkSize = 1000;
+
+    /**
+     * Expected run time of one ID range in partitioned processing.
+     * Larger ranges are split, so idle workers can take over the halves that were not started yet.
+     */
+    private Duration partitionTaskDuration = Duration.ofMillis(500);
+
+    /**
+     * When set, every processed item or chunk waits this long as if it called an external service,
+     * without holding a thread or a database connection. Meant for load tests; unset by default.
+     */
+    private Duration simulatedLatency = Duration.ZERO;
+
+    /**
+     * Minimum time between two progress summary lines of a processing run.
+     */
+    private Duration progressLogInterval = Duration.ofSeconds(10);
+
+    /**
+     * Time between two progress events sent to a client following a run over Server-Sent Events.
+     */
+    private Duration streamProgressInterval = Duration.ofSeconds(1);
+
+    /**
+     * Settings of the executor that runs the processing tasks.
+     */
+    private final Executor executor = new Executor();
+
+    /**
+     * Limits on how hard processing may load the database.
+     */
+    private final Backpressure backpressure = new Backpressure();
+
+    /**
+     * Retention of finished processing jobs.
+     */
+    private final Jobs jobs = new Jobs();
+
+    /**
+     * Claiming of items by {@link ProcessingScheduling#CLAIMED} jobs.
+     */
+    private final Claims claims = new Claims();
+
+    /**
+     * Retries of writes that lost an optimistic locking conflict.
+     */
+    private final Retry retry = new Retry();
+
+    /**
+     * Types of threads the processing executor can run on.
+     */
+    public enum ExecutorType {
+        /**
+         * A fixed pool of {@code pool-size} platform threads.
+         */
+        PLATFORM,
+
+        /**
+         * One new virtual thread per task.
+         */
+        VIRTUAL
+    }
+
+    /**
+     * Configuration of the processing executor, bound from {@code items.processing.executor}.
+     */
+    @Getter
+    @Setter
+    public static class Executor {
+
+        /**
+         * Type of threads the tasks run on.
+         */
+        private ExecutorType type = ExecutorType.VIRTUAL;
+
+        /**
+         * Number of threads when {@link ExecutorType#PLATFORM} is used.
+         */
+        private int poolSize = 10;
+
+        /**
+         * Maximum number of tasks using a database connection at the same time.
+         * Zero or less means the maximum size of the Hikari connection pool.
+         */
+        private int maxConcurrency = 0;
+
+        /**
+         * How long shutdown waits for running tasks to finish before interrupting them.
+         */
+        private Duration shutdownTimeout = Duration.ofSeconds(30);
+    }
+
+    /**
+     * Limits on how hard processing may load the database, bound from {@code items.processing.backpressure}.
+     * They keep a large processing run from starving live requests of connections.
+     */
+    @Getter
+    @Setter
+    public static class Backpressure {
+
+        /**
+         * Maximum number of chunks submitted to the executor and not finished yet; the next chunk is only read
+         * once one of them finishes. Zero or less means twice the maximum database concurrency.
+         */
+        private int maxInFlightChunks = 0;
+
+        /**
+         * Whether the database concurrency adapts to the load. When disabled, the maximum concurrency is always used.
+         */
+        private boolean adaptive = true;
+
+        /**
+         * Lowest database concurrency the adaptive limit may fall to.
+         */
+        private int minConcurrency = 1;
+
+        /**
+         * How many times its long-term average the recent latency of database work may reach
+         * before the adaptive limit is lowered.
+         */
+        private double latencyTolerance = 2.0;
+
+        /**
+         * Ceiling on the number of items processed per second by this instance. Zero or less means no ceiling.
+         */
+        private double maxItemsPerSecond = 0;
+    }
+
+    /**
+     * Configuration of item claims, bound from {@code items.processing.claims}.
+     */
+    @Getter
+    @Setter
+    public static class Claims {
+
+        /**
+         * Name this instance claims items under; must differ between instances sharing the database.
+         * Defaults to the process ID and host name.
+         */
+        private String workerId = ManagementFactory.getRuntimeMXBean().getName();
+
+        /**
+         * How long a claim lasts. Items claimed by an instance that stopped are taken over once their claim expires,
+         * so this must be longer than processing one chunk takes.
+         */
+        private Duration timeout = Duration.ofMinutes(5);
+    }
+
+    /**
+     * Retries of processing writes that conflicted with a concurrent change of the same item,
+     * bound from {@code items.processing.retry}. The items are read again before every retry.
+     */
+    @Getter
+    @Setter
+    public static class Retry {
+
+        /**
+         * Maximum number of attempts, including the first one; the write fails once they are used up.
+         */
+        private int maxAttempts = 5;
+
+        /**
+         * Back-off before the first retry; doubled before every further retry.
+         */
+        private Duration initialBackoff = Duration.ofMillis(20);
+
+        /**
+         * Upper bound of the back-off between two attempts.
+         */
+        private Duration maxBackoff = Duration.ofSeconds(1);
+    }
+
+    /**
+     * Retention and ownership of processing jobs, bound from {@code items.processing.jobs}.
+     * Running jobs are always kept.
+     */
+    @Getter
+    @Setter
+    public static class Jobs {
+
+        /**
+         * How long a finished job and its results stay available.
+         */
+        private Duration retention = Duration.ofHours(1);
+
+        /**
+         * Maximum number of finished jobs kept; the oldest ones are dropped first.
+         */
+        private int maxRetained = 100;
+
+        /**
+         * Maximum number of processed item IDs a job keeps for its results; the items processed after that are
+         * only counted, so the memory a job holds does not grow with the table.
+         */
+        private int maxResultIds = ProcessingJob.DEFAULT_MAX_RESULT_IDS;
+
+        /**
+         * How long a running job stays owned by its instance without being renewed; the owner renews it every
+         * third of this time. Jobs left running by an instance are only resumed by another one once their lease
+         * has expired, so this must be longer than a restart takes to be noticed but short enough to resume soon.
+         */
+        private Duration lease = Duration.ofMinutes(1);
+    }
+}
@@ -0,0 +1,40 @@
+package com.siemens.internship;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * A step applied to items when they are processed in {@link ProcessingMode#HYDRATE} mode.
+ *
+ * Every bean implementing this interface is applied by {@link ItemProcessingPipeline}, in {@code @Order}.
+ * Processors run without a database connection and must not block: work that waits for something, such as
+ * a call to an enrichment or validation service, is returned as a stage that completes once it is done.
+ * Processors that do not wait for anything return an already completed stage, and the chunk is then written
+ * in the same transaction it was read in. {@link ProcessingMode#BULK} runs never load the items and skip processors.
+ */
+public interface ItemProcessor {
+
+    /**
+     * Processes one item.
+     * @param item The item, detached from the persistence context; may be changed in place.
+     * @return A stage completing with the item to write back.
+     */
+    CompletionStage<Item> process(Item item);
+
+    /**
+     * Processes a chunk of items. The default processes every item on its own and waits for all of them;
+     * processors backed by a service with a batch API should override it to make one call per chunk.
+     * @param items The items of the chunk; may be changed in place.
+     * @return A stage completing with the items to write back, in the same order.
+     */
+    default CompletionStage<List<Item>> processBatch(List<Item> items) {
+        List<CompletableFuture<Item>> processed = new ArrayList<>(items.size());
+        for (Item item : items) {
+            processed.add(process(item).toCompletableFuture());
+        }
+        return CompletableFuture.allOf(processed.toArray(new CompletableFuture[0]))
+                .thenApply(v -> processed.stream().map(CompletableFuture::join).toList());
+    }
+}
@@ -0,0 +1,60 @@
+package com.siemens.internship;
+
+import java.time.Duration;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Token bucket that caps the number of items processed per second.
+ *
+ * The bucket holds up to one second worth of items, so a run that was idle may start with a short burst.
+ * A caller that takes more tokens than the bucket holds puts it into debt and waits until the debt is repaid,
+ * so chunks of any size are let through and the average rate never exceeds the ceiling.
+ */
+public class ItemRateLimiter {
+    private final double itemsPerNano;
+    private final double capacity;
+
+    private double tokens;
+    private long refilledAt;
+
+    /**
+     * Creates a rate limiter with a full bucket.
+     * @param itemsPerSecond The ceiling; must be positive.
+     */
+    public ItemRateLimiter(double itemsPerSecond) {
+        if (itemsPerSecond <= 0) {
+            throw new IllegalArgumentException("itemsPerSecond must be positive, was " + itemsPerSecond);
+        }
+        this.itemsPerNano = itemsPerSecond / Duration.ofSeconds(1).toNanos();
+        this.capacity = itemsPerSecond;
+        this.tokens = capacity;
+        this.refilledAt = System.nanoTime();
+    }
+
+    /**
+     * Waits until the given number of items may be processed without exceeding the ceiling.
+     * Callers are served in the order they reserve, and the wait happens outside the lock.
+     * @param items Number of items about to be processed.
+     */
+    public void acquire(int items) {
+        long waitNanos = reserve(items);
+        long deadline = System.nanoTime() + waitNanos;
+        // An interrupted thread is let through, so shutdown is not held up by the wait
+        while (waitNanos > 0 && !Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(waitNanos);
+            waitNanos = deadline - System.nanoTime();
+        }
+    }
+
+    /**
+     * Takes the tokens for the items, going into debt if there are not enough.
+     * @return How long the caller must wait for the debt to be repaid.
+     */
+    private synchronized long reserve(int items) {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - refilledAt) * itemsPerNano);
+        refilledAt = now;
+        tokens -= items;
+        return tokens >= 0 ? 0 : (long) (-tokens / itemsPerNano);
+    }
+}
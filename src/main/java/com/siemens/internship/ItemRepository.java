@@ -1,19 +1,350 @@
 package com.siemens.internship;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Item entity.
  * Extends JpaRepository to inherit standard CRUD operations and custom query methods.
  */
 public interface ItemRepository extends JpaRepository<Item, Long> {
+    /**
+     * Number of rows the JDBC driver fetches per round trip when streaming items.
+     */
+    String STREAM_FETCH_SIZE = "500";
+
+    /**
+     * JPQL condition matching the items that still need processing, for an entity aliased as {@code i}.
+     */
+    String PENDING = "(i.status IS NULL OR i.status <> '" + Item.STATUS_PROCESSED + "')";
+
+    /**
+     * JPQL assignment incrementing the version of an entity aliased as {@code i}.
+     * Bulk UPDATEs bypass the version check of the persistence context, so every one of them must include it;
+     * otherwise an entity loaded before the bulk UPDATE could still be written back over it.
+     */
+    String NEXT_VERSION = "i.version = i.version + 1";
+
+    /**
+     * JPQL constructor expression projecting an entity aliased as {@code i} into an {@link ItemResponse}.
+     * Projected rows are plain values: they never enter the persistence context, so they are neither
+     * snapshotted nor dirty checked.
+     */
+    String AS_RESPONSE = "new com.siemens.internship.ItemResponse(i.id, i.name, i.description, i.status, i.email, i.version)";
+
     /**
      * Find all items in the database.
      * @return List of all items.
      */
     @Query("SELECT id FROM Item")
     List<Long> findAllIds();
+
+    /**
+     * Find the next chunk of item IDs, in ascending order, following the given ID.
+     * Used to walk the table in chunks without loading every ID at once.
+     * @param after The last ID of the previous chunk (exclusive).
+     * @param pageable The chunk size; only the page size is used.
+     * @return List of at most {@code pageable.getPageSize()} IDs.
+     */
+    @Query("SELECT i.id FROM Item i WHERE i.id > :after ORDER BY i.id")
+    List<Long> findIdsAfter(@Param("after") Long after, Pageable pageable);
+
+    /**
+     * Find the next chunk of IDs of items that are not processed yet, in ascending order, following the given ID.
+     * @param after The last ID of the previous chunk (exclusive).
+     * @param pageable The chunk size; only the page size is used.
+     * @return List of at most {@code pageable.getPageSize()} IDs.
+     */
+    @Query("SELECT i.id FROM Item i WHERE i.id > :after AND " + PENDING + " ORDER BY i.id")
+    List<Long> findPendingIdsAfter(@Param("after") Long after, Pageable pageable);
+
+    /**
+     * Count the items that are not processed yet.
+     * @return The number of pending items.
+     */
+    @Query("SELECT COUNT(i) FROM Item i WHERE " + PENDING)
+    long countPending();
+
+    /**
+     * Find the next chunk of item IDs, in ascending order, following the given ID and not past the end of a range.
+     * Used to walk one partition of the ID space with its own cursor.
+     * @param after The last ID of the previous chunk (exclusive).
+     * @param toId The last ID of the range (inclusive).
+     * @param pageable The chunk size; only the page size is used.
+     * @return List of at most {@code pageable.getPageSize()} IDs.
+     */
+    @Query("SELECT i.id FROM Item i WHERE i.id > :after AND i.id <= :toId ORDER BY i.id")
+    List<Long> findIdsInRange(@Param("after") Long after, @Param("toId") Long toId, Pageable pageable);
+
+    /**
+     * Find the smallest item ID.
+     * @return The smallest ID, or null if the table is empty.
+     */
+    @Query("SELECT MIN(i.id) FROM Item i")
+    Long findMinId();
+
+    /**
+     * Find the largest item ID.
+     * @return The largest ID, or null if the table is empty.
+     */
+    @Query("SELECT MAX(i.id) FROM Item i")
+    Long findMaxId();
+
+    /**
+     * Find the next chunk of IDs of items that are not processed yet, following the given ID and not past the end of a range.
+     * @param after The last ID of the previous chunk (exclusive).
+     * @param toId The last ID of the range (inclusive).
+     * @param pageable The chunk size; only the page size is used.
+     * @return List of at most {@code pageable.getPageSize()} IDs.
+     */
+    @Query("SELECT i.id FROM Item i WHERE i.id > :after AND i.id <= :toId AND " + PENDING + " ORDER BY i.id")
+    List<Long> findPendingIdsInRange(@Param("after") Long after, @Param("toId") Long toId, Pageable pageable);
+
+    /**
+     * Find the smallest ID of an item that is not processed yet.
+     * @return The smallest pending ID, or null if no item is pending.
+     */
+    @Query("SELECT MIN(i.id) FROM Item i WHERE " + PENDING)
+    Long findMinPendingId();
+
+    /**
+     * Find the largest ID of an item that is not processed yet.
+     * @return The largest pending ID, or null if no item is pending.
+     */
+    @Query("SELECT MAX(i.id) FROM Item i WHERE " + PENDING)
+    Long findMaxPendingId();
+
+    /**
+     * Find which of the given IDs belong to existing items.
+     * @param ids The IDs to look up.
+     * @return The IDs that exist.
+     */
+    @Query("SELECT i.id FROM Item i WHERE i.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Find the ID, name and status of all items, without loading the entities.
+     * @return The summaries, ordered by ID.
+     */
+    @Query("SELECT new com.siemens.internship.ItemSummary(i.id, i.name, i.status) FROM Item i ORDER BY i.id")
+    List<ItemSummary> findAllSummaries();
+
+    /**
+     * Find the given items, projected into API responses without loading the entities.
+     * @param ids The IDs of the items.
+     * @return The items that exist, ordered by ID.
+     */
+    @Query("SELECT " + AS_RESPONSE + " FROM Item i WHERE i.id IN :ids ORDER BY i.id")
+    List<ItemResponse> findResponsesByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Find the next page of items, in ascending ID order, following the given ID.
+     * Seeks directly to the cursor through the primary key, so the cost does not grow with the page depth.
+     * @param after The last ID of the previous page (exclusive).
+     * @param pageable The page size; only the page size is used.
+     * @return List of at most {@code pageable.getPageSize()} items.
+     */
+    @Query("SELECT " + AS_RESPONSE + " FROM Item i WHERE i.id > :after ORDER BY i.id")
+    List<ItemResponse> findPageAfter(@Param("after") Long after, Pageable pageable);
+
+    /**
+     * Find the next page of items with the given status, in ascending ID order, following the given ID.
+     * Seeks through the (status, id) index, so only the rows of the page are read.
+     * @param status The status to match.
+     * @param after The last ID of the previous page (exclusive).
+     * @param pageable The page size; only the page size is used.
+     * @return List of at most {@code pageable.getPageSize()} items.
+     */
+    @Query("SELECT " + AS_RESPONSE + " FROM Item i WHERE i.status = :status AND i.id > :after ORDER BY i.id")
+    List<ItemResponse> findPageByStatusAfter(@Param("status") String status, @Param("after") Long after, Pageable pageable);
+
+    /**
+     * Find the next page of items with the given email, in ascending ID order, following the given ID.
+     * Seeks through the (email, id) index, so only the rows of the page are read.
+     * @param email The email to match.
+     * @param after The last ID of the previous page (exclusive).
+     * @param pageable The page size; only the page size is used.
+     * @return List of at most {@code pageable.getPageSize()} items.
+     */
+    @Query("SELECT " + AS_RESPONSE + " FROM Item i WHERE i.email = :email AND i.id > :after ORDER BY i.id")
+    List<ItemResponse> findPageByEmailAfter(@Param("email") String email, @Param("after") Long after, Pageable pageable);
+
+    /**
+     * Find the next page of items with the given status and email, in ascending ID order, following the given ID.
+     * Seeks through the (email, id) index, which is the more selective one, and checks the status of those rows.
+     * @param status The status to match.
+     * @param email The email to match.
+     * @param after The last ID of the previous page (exclusive).
+     * @param pageable The page size; only the page size is used.
+     * @return List of at most {@code pageable.getPageSize()} items.
+     */
+    @Query("SELECT " + AS_RESPONSE + " FROM Item i WHERE i.email = :email AND i.status = :status AND i.id > :after ORDER BY i.id")
+    List<ItemResponse> findPageByStatusAndEmailAfter(@Param("status") String status, @Param("email") String email,
+                                                     @Param("after") Long after, Pageable pageable);
+
+    /**
+     * Count the items of every status with one aggregate query, answered from the status index.
+     * @return One count per distinct status, including items without a status, ordered by status.
+     */
+    @Query("SELECT new com.siemens.internship.ItemStatusCount(i.status, COUNT(i)) FROM Item i GROUP BY i.status ORDER BY i.status")
+    List<ItemStatusCount> countByStatus();
+
+    /**
+     * Set the status of every item in an ID range with one bulk UPDATE, without loading the entities.
+     * Must be called inside a transaction.
+     * @param status The new status.
+     * @param fromId The first ID of the range (inclusive).
+     * @param toId The last ID of the range (inclusive).
+     * @return Number of updated rows.
+     */
+    @Modifying
+    @Query("UPDATE Item i SET i.status = :status, " + NEXT_VERSION + " WHERE i.id BETWEEN :fromId AND :toId")
+    int updateStatusInRange(@Param("status") String status, @Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    /**
+     * Mark every pending item in an ID range as processed with one bulk UPDATE, leaving processed items untouched.
+     * Must be called inside a transaction.
+     * @param fromId The first ID of the range (inclusive).
+     * @param toId The last ID of the range (inclusive).
+     * @return Number of updated rows.
+     */
+    @Modifying
+    @Query("UPDATE Item i SET i.status = '" + Item.STATUS_PROCESSED + "', " + NEXT_VERSION + " WHERE i.id BETWEEN :fromId AND :toId AND " + PENDING)
+    int markPendingProcessedInRange(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    /**
+     * Find the next chunk of IDs of pending items that nobody holds a live claim on, in ascending order.
+     * @param expiredBefore Claims made before this instant have expired.
+     * @param pageable The chunk size; only the page size is used.
+     * @return List of at most {@code pageable.getPageSize()} IDs.
+     */
+    @Query("SELECT i.id FROM Item i WHERE " + PENDING + " AND (i.claimedBy IS NULL OR i.claimedAt < :expiredBefore) ORDER BY i.id")
+    List<Long> findClaimableIds(@Param("expiredBefore") Instant expiredBefore, Pageable pageable);
+
+    /**
+     * Claim the given items for a worker, skipping the items that another worker has claimed in the meantime.
+     * The condition is checked again on every row once concurrent claims have committed, so each item is
+     * claimed by at most one worker. Must be called inside a transaction.
+     * The version is incremented so that a worker whose claim was taken over cannot write its items any more;
+     * cached copies of the claimed items must be evicted once the claim commits.
+     * @param ids The IDs of the items to claim.
+     * @param workerId The worker claiming the items.
+     * @param token The random token identifying this claim.
+     * @param claimedAt The time of the claim.
+     * @param expiredBefore Claims made before this instant have expired and may be taken over.
+     * @return Number of claimed rows.
+     */
+    @Modifying
+    @Query("UPDATE Item i SET i.claimedBy = :workerId, i.claimToken = :token, i.claimedAt = :claimedAt, " + NEXT_VERSION
+            + " WHERE i.id IN :ids AND " + PENDING + " AND (i.claimedBy IS NULL OR i.claimedAt < :expiredBefore)")
+    int claim(@Param("ids") Collection<Long> ids, @Param("workerId") String workerId, @Param("token") String token,
+              @Param("claimedAt") Instant claimedAt, @Param("expiredBefore") Instant expiredBefore);
+
+    /**
+     * Find which of the given items are still held by the claim with the given token.
+     * @param ids The IDs to look up.
+     * @param token The token of the claim.
+     * @return The IDs of the claimed items, in ascending order.
+     */
+    @Query("SELECT i.id FROM Item i WHERE i.id IN :ids AND i.claimToken = :token ORDER BY i.id")
+    List<Long> findClaimedIds(@Param("ids") Collection<Long> ids, @Param("token") String token);
+
+    /**
+     * Find the items of a chunk that are still held by the claim with the given token.
+     * @param ids The IDs of the chunk.
+     * @param token The token of the claim.
+     * @return The claimed items.
+     */
+    @Query("SELECT i FROM Item i WHERE i.id IN :ids AND i.claimToken = :token")
+    List<Item> findClaimedWith(@Param("ids") Collection<Long> ids, @Param("token") String token);
+
+    /**
+     * Mark the items of a chunk that are still held by the claim with the given token as processed, and release
+     * the claim. Must be called inside a transaction.
+     * @param ids The IDs of the chunk.
+     * @param token The token of the claim.
+     * @return Number of updated rows.
+     */
+    @Modifying
+    @Query("UPDATE Item i SET i.status = '" + Item.STATUS_PROCESSED + "', i.claimedBy = NULL, i.claimToken = NULL, "
+            + "i.claimedAt = NULL, " + NEXT_VERSION + " WHERE i.id IN :ids AND i.claimToken = :token")
+    int markClaimedProcessed(@Param("ids") Collection<Long> ids, @Param("token") String token);
+
+    /**
+     * Stream all items in ascending ID order, fetching {@value #STREAM_FETCH_SIZE} rows per round trip.
+     * Must be consumed inside a transaction and closed afterwards.
+     * @return Stream of all items.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT i FROM Item i ORDER BY i.id")
+    Stream<Item> streamAll();
+
+    /**
+     * Overwrite the fields of an item with one UPDATE statement, without loading it first.
+     * Must be called inside a transaction.
+     * @param id The ID of the item to update.
+     * @param name The new name.
+     * @param description The new description.
+     * @param status The new status.
+     * @param email The new email.
+     * @return Number of updated rows: 1 if the item exists, 0 otherwise.
+     */
+    @Modifying
+    @Query("UPDATE Item i SET i.name = :name, i.description = :description, i.status = :status, i.email = :email, "
+            + NEXT_VERSION + " WHERE i.id = :id")
+    int updateById(@Param("id") Long id, @Param("name") String name, @Param("description") String description,
+                   @Param("status") String status, @Param("email") String email);
+
+    /**
+     * Overwrite the fields of an item with one UPDATE statement, only if it is still at the given version.
+     * Must be called inside a transaction.
+     * @param id The ID of the item to update.
+     * @param version The version the new data is based on.
+     * @param name The new name.
+     * @param description The new description.
+     * @param status The new status.
+     * @param email The new email.
+     * @return Number of updated rows: 1 if the item exists at this version, 0 otherwise.
+     */
+    @Modifying
+    @Query("UPDATE Item i SET i.name = :name, i.description = :description, i.status = :status, i.email = :email, "
+            + NEXT_VERSION + " WHERE i.id = :id AND i.version = :version")
+    int updateByIdAndVersion(@Param("id") Long id, @Param("version") Long version, @Param("name") String name,
+                             @Param("description") String description, @Param("status") String status,
+                             @Param("email") String email);
+
+    /**
+     * Delete an item with one DELETE statement, without loading it first.
+     * Must be called inside a transaction.
+     * @param id The ID of the item to delete.
+     * @return Number of deleted rows: 1 if the item existed, 0 otherwise.
+     */
+    @Modifying
+    @Query("DELETE FROM Item i WHERE i.id = :id")
+    int removeById(@Param("id") Long id);
+
+    /**
+     * Delete an item with one DELETE statement, only if it is still at the given version.
+     * Must be called inside a transaction.
+     * @param id The ID of the item to delete.
+     * @param version The version the client has seen.
+     * @return Number of deleted rows: 1 if the item existed at this version, 0 otherwise.
+     */
+    @Modifying
+    @Query("DELETE FROM Item i WHERE i.id = :id AND i.version = :version")
+    int removeByIdAndVersion(@Param("id") Long id, @Param("version") Long version);
 }
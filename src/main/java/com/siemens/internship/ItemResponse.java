@@ -0,0 +1,25 @@
+package com.siemens.internship;
+
+/**
+ * An item as returned by the API.
+ * Responses are built from this record instead of the entity, so Jackson never walks a managed entity and
+ * internal columns such as the processing claim never reach clients. Read queries project straight into it.
+ *
+ * @param id          ID of the item
+ * @param name        Name of the item
+ * @param description Description of the item
+ * @param status      Status of the item
+ * @param email       Email of the item
+ * @param version     Version of the item, also sent as its ETag; {@code null} if not known
+ */
+public record ItemResponse(Long id, String name, String description, String status, String email, Long version) {
+
+    /**
+     * @param item The item to copy.
+     * @return The API view of the item.
+     */
+    public static ItemResponse from(Item item) {
+        return new ItemResponse(item.getId(), item.getName(), item.getDescription(), item.getStatus(),
+                item.getEmail(), item.getVersion());
+    }
+}
@@ -1,19 +1,40 @@
 package com.siemens.internship;
 
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PreDestroy;
-import lombok.Getter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.*;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
-import java.util.logging.Logger;
-import java.util.logging.Level;
+import java.util.stream.Stream;
 
 /**
  * Service class for managing items.
@@ -21,30 +42,148 @@ import java.util.logging.Level;
  */
 @Service
 public class ItemService {
-    private static final Logger LOGGER = Logger.getLogger(ItemService.class.getName());
+    private static final Logger LOGGER = LoggerFactory.getLogger(ItemService.class);
+
+    /**
+     * Number of streamed items after which the persistence context is cleared, keeping memory flat.
+     */
+    private static final int STREAM_CLEAR_INTERVAL = 500;
 
     @Autowired
     private ItemRepository itemRepository;
-    private static final ExecutorService executor = Executors.newFixedThreadPool(10);
-    @Getter
-    private final List<Item> processedItems = new CopyOnWriteArrayList<>();
-    @Getter
-    private final AtomicInteger processedCount = new AtomicInteger(0);
+    @Autowired
+    private ItemChunkProcessor chunkProcessor;
+    @Autowired
+    private ItemProcessingPipeline pipeline;
+    @Autowired
+    private ItemProcessingProperties processingProperties;
+    @Autowired
+    private ProcessingExecutor executor;
+    @Autowired
+    private ProcessingJobRegistry jobRegistry;
+    @Autowired
+    private ProcessingJobStore jobStore;
+    @PersistenceContext
+    private EntityManager entityManager;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private ItemBulkWriter bulkWriter;
+    @Autowired
+    private Validator validator;
+    @Autowired
+    private ProcessingMetrics metrics;
 
     /**
      * Finds all items in the database.
      *
      * @return List of all items.
      */
+    @Transactional(readOnly = true)
     public List<Item> findAll() {
         return itemRepository.findAll();
     }
 
+    /**
+     * Finds the ID, name and status of all items with a constructor projection,
+     * so no entity is loaded into the persistence context.
+     *
+     * @return The summaries of all items, ordered by ID.
+     */
+    @Transactional(readOnly = true)
+    public List<ItemSummary> findAllSummaries() {
+        return itemRepository.findAllSummaries();
+    }
+
+    /**
+     * Finds one page of items using keyset pagination.
+     * One extra row is read to find out whether another page follows, so the last page needs no extra request.
+     *
+     * @param after The cursor returned with the previous page, or 0 for the first page.
+     * @param limit Maximum number of items in the page.
+     * @return The page and the cursor of the next page.
+     */
+    @Transactional(readOnly = true)
+    public ItemPage findPage(Long after, int limit) {
+        return toPage(itemRepository.findPageAfter(after, PageRequest.of(0, limit + 1)), limit);
+    }
+
+    /**
+     * Finds one page of the items matching a status, an email or both, using keyset pagination.
+     * Each filter seeks through its own index, so the cost depends on the page size and not on the table size.
+     *
+     * @param status The status to match, or null to match any status.
+     * @param email The email to match, or null to match any email; at least one of the filters must be given.
+     * @param after The cursor returned with the previous page, or 0 for the first page.
+     * @param limit Maximum number of items in the page.
+     * @return The page and the cursor of the next page.
+     */
+    @Transactional(readOnly = true)
+    public ItemPage findPage(String status, String email, Long after, int limit) {
+        Pageable pageable = PageRequest.of(0, limit + 1);
+        List<ItemResponse> items;
+        if (status != null && email != null) {
+            items = itemRepository.findPageByStatusAndEmailAfter(status, email, after, pageable);
+        } else if (status != null) {
+            items = itemRepository.findPageByStatusAfter(status, after, pageable);
+        } else if (email != null) {
+            items = itemRepository.findPageByEmailAfter(email, after, pageable);
+        } else {
+            throw new IllegalArgumentException("Either a status or an email is required");
+        }
+        return toPage(items, limit);
+    }
+
+    /**
+     * Counts the items of every status with one aggregate query, without loading any item.
+     * @return The total and the count of every status.
+     */
+    @Transactional(readOnly = true)
+    public ItemStats getStats() {
+        List<ItemStatusCount> byStatus = itemRepository.countByStatus();
+        return new ItemStats(byStatus.stream().mapToLong(ItemStatusCount::count).sum(), byStatus);
+    }
+
+    /**
+     * Turns the rows of a keyset query that read one row more than the limit into a page.
+     */
+    private static ItemPage toPage(List<ItemResponse> items, int limit) {
+        if (items.size() <= limit) {
+            return new ItemPage(items, null);
+        }
+        List<ItemResponse> page = items.subList(0, limit);
+        return new ItemPage(new ArrayList<>(page), page.get(limit - 1).id());
+    }
+
+    /**
+     * Streams all items in ascending ID order to the given consumer.
+     * Rows are fetched from the database in small batches and the persistence context is cleared
+     * periodically, so memory use does not depend on the size of the table.
+     *
+     * @param consumer Receives each item; must not keep references to the items it is given.
+     */
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<Item> consumer) {
+        try (Stream<Item> items = itemRepository.streamAll()) {
+            Iterator<Item> iterator = items.iterator();
+            int streamed = 0;
+            while (iterator.hasNext()) {
+                consumer.accept(iterator.next());
+                if (++streamed % STREAM_CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
     /**
      * Finds an item by its ID.
+     * Results are cached; missing items are not, so a later insert is found immediately.
      * @param id The ID of the item to find.
      * @return An Optional containing the found item, or empty if not found.
      */
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = ItemCacheConfig.ITEMS_CACHE, key = "#id", unless = "#result == null")
     public Optional<Item> findById(Long id) {
         return itemRepository.findById(id);
     }
@@ -54,16 +193,208 @@ public class ItemService {
      * @param item The item to save.
      * @return The saved item.
      */
+    @CachePut(cacheNames = ItemCacheConfig.ITEMS_CACHE, key = "#result.id")
     public Item save(Item item) {
         return itemRepository.save(item);
     }
 
+    /**
+     * Updates an existing item with a single UPDATE statement.
+     * With an expected version, the item is only updated if nobody has changed it since that version was read.
+     * @param id The ID of the item to update.
+     * @param item The new item data.
+     * @param expectedVersion The version the new data is based on, or null to overwrite any version.
+     * @return An Optional containing the updated item, or empty if no item with this ID exists.
+     *         The version of the returned item is only known, and set, when an expected version was given.
+     * @throws OptimisticLockingFailureException if the item exists but is no longer at the expected version.
+     */
+    @Transactional
+    public Optional<Item> update(Long id, Item item, Long expectedVersion) {
+        evictCached(List.of(id));
+        if (expectedVersion == null) {
+            int updatedRows = itemRepository.updateById(id, item.getName(), item.getDescription(), item.getStatus(), item.getEmail());
+            if (updatedRows == 0) {
+                return Optional.empty();
+            }
+            item.setId(id);
+            return Optional.of(item);
+        }
+
+        int updatedRows = itemRepository.updateByIdAndVersion(id, expectedVersion, item.getName(), item.getDescription(),
+                item.getStatus(), item.getEmail());
+        if (updatedRows == 0) {
+            return conflictOrMissing(id, expectedVersion);
+        }
+        item.setId(id);
+        item.setVersion(expectedVersion + 1);
+        return Optional.of(item);
+    }
+
+    /**
+     * Deletes an item with a single DELETE statement.
+     * With an expected version, the item is only deleted if nobody has changed it since that version was read.
+     * @param id The ID of the item to delete.
+     * @param expectedVersion The version the client has seen, or null to delete any version.
+     * @return true if the item existed and was deleted, false otherwise.
+     * @throws OptimisticLockingFailureException if the item exists but is no longer at the expected version.
+     */
+    @Transactional
+    public boolean deleteIfExists(Long id, Long expectedVersion) {
+        evictCached(List.of(id));
+        if (expectedVersion == null) {
+            return itemRepository.removeById(id) > 0;
+        }
+        if (itemRepository.removeByIdAndVersion(id, expectedVersion) > 0) {
+            return true;
+        }
+        return conflictOrMissing(id, expectedVersion).isPresent();
+    }
+
+    /**
+     * Tells apart the two reasons a conditional write matched no row; only costs a query when it did not match.
+     * @return Always empty if the item does not exist.
+     * @throws OptimisticLockingFailureException if the item exists, so it must be at another version.
+     */
+    private Optional<Item> conflictOrMissing(Long id, Long expectedVersion) {
+        if (itemRepository.existsById(id)) {
+            throw new OptimisticLockingFailureException("Item " + id + " is no longer at version " + expectedVersion);
+        }
+        return Optional.empty();
+    }
+
     /**
      * Deletes an item by its ID.
      * @param id The ID of the item to delete.
      */
     public void deleteById(Long id) {
         itemRepository.deleteById(id);
+        evictCached(List.of(id));
+    }
+
+    /**
+     * Creates many items. Each item is validated on its own; the valid ones are inserted in chunks of
+     * {@code items.processing.chunk-size}, each chunk in one transaction and one JDBC batch.
+     * The items are read lazily, so the whole request never has to be held in memory.
+     * @param items The items to create; their IDs are ignored.
+     * @return The outcome of every item, in input order.
+     */
+    public BulkResult createAll(Iterator<Item> items) {
+        // Only a created item has an ID; a failed insert may have drawn one from the sequence without saving the item
+        BiFunction<Item, BulkItemOutcome, Long> createdId = (item, outcome) -> outcome == BulkItemOutcome.CREATED ? item.getId() : null;
+        return writeInChunks(items, createdId, this::validate, valid -> {
+            bulkWriter.insertAll(valid);
+            return item -> BulkItemOutcome.CREATED;
+        });
+    }
+
+    /**
+     * Updates many items. Each item is validated on its own; the existing items of every chunk
+     * are loaded with one query and written back with one JDBC batch.
+     * @param items The new item data; every item must carry the ID of the item to update.
+     * @return The outcome of every item, in input order.
+     */
+    public BulkResult updateAll(Iterator<Item> items) {
+        return writeInChunks(items, (item, outcome) -> item.getId(), item -> {
+            if (item != null && item.getId() == null) {
+                return List.of("id: must not be null");
+            }
+            return validate(item);
+        }, valid -> {
+            Set<Long> updated = bulkWriter.updateAll(valid);
+            evictCached(valid.stream().map(Item::getId).collect(Collectors.toList()));
+            return item -> updated.contains(item.getId()) ? BulkItemOutcome.UPDATED : BulkItemOutcome.NOT_FOUND;
+        });
+    }
+
+    /**
+     * Deletes many items, one DELETE statement per chunk.
+     * @param ids The IDs of the items to delete.
+     * @return The outcome of every ID, in input order.
+     */
+    public BulkResult deleteAll(Iterator<Long> ids) {
+        return writeInChunks(ids, (id, outcome) -> id,
+                id -> id == null ? List.of("id: must not be null") : List.of(),
+                valid -> {
+                    Set<Long> deleted = bulkWriter.deleteAll(valid);
+                    evictCached(valid);
+                    return id -> deleted.contains(id) ? BulkItemOutcome.DELETED : BulkItemOutcome.NOT_FOUND;
+                });
+    }
+
+    /**
+     * Reads the elements of a bulk request one chunk at a time, validates them and writes the valid
+     * elements of each chunk together. A chunk that fails to write marks only its own elements as failed;
+     * the chunks written before it stay committed.
+     * @param elements The elements of the request.
+     * @param idOf Extracts the ID reported for an element with the given outcome, read after the element was written.
+     * @param validation Returns the validation errors of an element; empty if it is valid.
+     * @param writer Writes the valid elements of a chunk and returns the outcome of each of them.
+     * @return The outcome of every element, in input order.
+     */
+    private <T> BulkResult writeInChunks(Iterator<T> elements, BiFunction<T, BulkItemOutcome, Long> idOf, Function<T, List<String>> validation,
+                                         Function<List<T>, Function<T, BulkItemOutcome>> writer) {
+        int chunkSize = processingProperties.getChunkSize();
+        List<BulkItemResult> results = new ArrayList<>();
+        int succeeded = 0;
+
+        while (elements.hasNext()) {
+            List<T> chunk = new ArrayList<>(chunkSize);
+            while (chunk.size() < chunkSize && elements.hasNext()) {
+                chunk.add(elements.next());
+            }
+
+            List<List<String>> errors = chunk.stream().map(validation).collect(Collectors.toList());
+            List<T> valid = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                if (errors.get(i).isEmpty()) {
+                    valid.add(chunk.get(i));
+                }
+            }
+
+            Function<T, BulkItemOutcome> outcomes = element -> BulkItemOutcome.FAILED;
+            List<String> failure = List.of();
+            if (!valid.isEmpty()) {
+                try {
+                    outcomes = writer.apply(valid);
+                } catch (RuntimeException e) {
+                    failure = List.of(String.valueOf(e.getMessage()));
+                    LOGGER.error("Failed to write bulk chunk starting at element {} due to: {}", results.size(), e.getMessage());
+                }
+            }
+
+            for (int i = 0; i < chunk.size(); i++) {
+                T element = chunk.get(i);
+                BulkItemOutcome outcome = errors.get(i).isEmpty() ? outcomes.apply(element) : BulkItemOutcome.INVALID;
+                Long id = element == null ? null : idOf.apply(element, outcome);
+                BulkItemResult result;
+                if (!errors.get(i).isEmpty()) {
+                    result = new BulkItemResult(results.size(), id, outcome, errors.get(i));
+                } else {
+                    result = new BulkItemResult(results.size(), id, outcome, outcome.isSuccess() ? List.of() : failure);
+                }
+                if (result.outcome().isSuccess()) {
+                    succeeded++;
+                }
+                results.add(result);
+            }
+        }
+        LOGGER.info("Bulk request finished: {} of {} elements written", succeeded, results.size());
+        return new BulkResult(succeeded, results.size() - succeeded, results);
+    }
+
+    /**
+     * Validates an item against its bean validation constraints.
+     * @param item The item to validate.
+     * @return One message per violated constraint; empty if the item is valid.
+     */
+    private List<String> validate(Item item) {
+        if (item == null) {
+            return List.of("item must not be null");
+        }
+        return validator.validate(item).stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.toList());
     }
 
 
@@ -86,7 +417,541 @@ public class ItemService {
      * Consider the interaction between Spring's @Async and CompletableFuture
      */
     /**
-     * Asynchronously processes all items from the database.
+     * Asynchronously processes all items from the database in chunks.
+     *
+     * This implementation:
+     * 1. Walks the item IDs in ascending order, one chunk of {@code items.processing.chunk-size} IDs at a time
+     * 2. Hands each chunk to {@link ItemChunkProcessor}, which loads it with one query and writes it back
+     *    with one JDBC batch inside a single transaction
+     * 3. Never holds more than one chunk of IDs per in-flight task, so memory does not grow with the table
+     * 4. Handles a failed chunk without failing the remaining ones
+     * 5. Collects the processed items of this run only, in a lock-free queue that is dropped once the run completes
+     * 6. Returns immediately: the run is composed on the processing executor instead of being an {@code @Async}
+     *    method, since Spring would wrap a returned future in a task that waits for it on a pool thread, and a few
+     *    concurrent runs would then hold every thread of a fixed pool while their chunks wait in its queue
+     *
+     * @return A CompletableFuture that completes with a list of all successfully processed items
+     */
+    public CompletableFuture<List<Item>> processItemsAsync() {
+        return processItemsAsync(false);
+    }
+
+    /**
+     * Asynchronously processes the items from the database in chunks, like {@link #processItemsAsync()}.
+     * An incremental run only selects the items whose status is not {@value Item#STATUS_PROCESSED} yet, so a repeated
+     * run writes only the items added or changed since, and a run that was interrupted continues where it stopped.
+     *
+     * @param incremental Whether to skip the items that are already processed.
+     * @return A CompletableFuture that completes with a list of all successfully processed items
+     */
+    public CompletableFuture<List<Item>> processItemsAsync(boolean incremental) {
+        // Only the count runs as its own task; the caller's thread never touches the database
+        return CompletableFuture.supplyAsync(() -> executor.withConnectionPermit(
+                        () -> incremental ? itemRepository.countPending() : itemRepository.count()), executor)
+                .thenCompose(total -> {
+                    ProcessingProgressLog progress = newProgressLog(
+                            incremental ? "Incremental processing" : "Chunked processing", total);
+                    Queue<Item> processedItems = new ConcurrentLinkedQueue<>();
+                    return submitChunks(incremental, 0L, chunk -> processChunk(chunk.ids(), processedItems, progress))
+                            .thenApply(v -> {
+                                progress.finish();
+                                return new ArrayList<>(processedItems);
+                            });
+                });
+    }
+
+    /**
+     * Starts processing all items in the background and returns immediately.
+     *
+     * With {@link ProcessingMode#HYDRATE} every chunk goes through {@link ItemChunkProcessor#processChunk(List)},
+     * loading and merging each entity. With {@link ProcessingMode#BULK} every chunk is marked as processed by a
+     * single bulk UPDATE over its ID range, so no entity is ever loaded into the persistence context.
+     *
+     * @param mode How each chunk is written.
+     * @return The running job; its counters are updated as the chunks complete.
+     */
+    public ProcessingJob startProcessing(ProcessingMode mode) {
+        return startProcessing(mode, ProcessingScheduling.CHUNKED, false);
+    }
+
+    /**
+     * Starts processing the items in the background and returns immediately.
+     *
+     * With {@link ProcessingScheduling#CHUNKED} one task per chunk is submitted to the processing executor.
+     * With {@link ProcessingScheduling#PARTITIONED} the ID space is split into ranges walked on the processing executor
+     * with one lane per allowed database connection; each lane walks its range with its own cursor and free lanes take
+     * the ranges not started yet (see {@link IdRangePartitioner}). With {@link ProcessingScheduling#CLAIMED} chunks of
+     * pending items are claimed in the database first (see {@link ClaimingWorker}), so jobs started on several
+     * instances sharing the database split the items between them.
+     * An incremental job only selects the items whose status is not {@value Item#STATUS_PROCESSED} yet.
+     * The job and its checkpoint are saved in the {@code processing_job} table, so it can be resumed after a restart.
+     *
+     * @param mode How each chunk is written.
+     * @param scheduling How the items are divided into chunks.
+     * @param incremental Whether to skip the items that are already processed; claimed jobs always do.
+     * @return The running job; its counters are updated as the chunks complete.
+     */
+    public ProcessingJob startProcessing(ProcessingMode mode, ProcessingScheduling scheduling, boolean incremental) {
+        return startProcessing(mode, scheduling, incremental, items -> { });
+    }
+
+    /**
+     * Starts processing the items in the background like {@link #startProcessing(ProcessingMode, ProcessingScheduling, boolean)},
+     * handing the items of every chunk to a listener as soon as the chunk has committed, so a caller can forward
+     * them without the run collecting its results. Jobs in {@link ProcessingMode#BULK} do not load the items and never
+     * call the listener.
+     *
+     * @param mode How each chunk is written.
+     * @param scheduling How the items are divided into chunks.
+     * @param incremental Whether to skip the items that are already processed; claimed jobs always do.
+     * @param itemListener Receives the processed items of each chunk, on the thread that processed the chunk.
+     * @return The running job; its counters are updated as the chunks complete.
+     */
+    public ProcessingJob startProcessing(ProcessingMode mode, ProcessingScheduling scheduling, boolean incremental,
+                                         Consumer<List<Item>> itemListener) {
+        boolean pendingOnly = incremental || scheduling == ProcessingScheduling.CLAIMED;
+        long total = pendingOnly ? itemRepository.countPending() : itemRepository.count();
+        ProcessingJob job = new ProcessingJob(mode, scheduling, pendingOnly, total);
+        job.setItemListener(itemListener);
+        job.setMaxResultIds(processingProperties.getJobs().getMaxResultIds());
+        jobRegistry.register(job);
+        jobStore.create(job);
+        LOGGER.info("Starting {} {}{} processing job {} for {} items", scheduling, pendingOnly ? "incremental " : "",
+                mode, job.getId(), job.getTotal());
+        run(job);
+        return job;
+    }
+
+    /**
+     * Resumes the processing jobs that were still running when their instance stopped.
+     * A job is only resumed once the lease of its owner has expired, and is taken over with a conditional update,
+     * so jobs of instances that are still running are left alone and each job is resumed by one instance only.
+     * A job whose lease has not expired yet is checked again once it has, and then again at every lease, until it
+     * finishes or is taken over: its owner may be this very instance before a restart, running under another worker
+     * ID, which will never renew the lease again.
+     * Each job continues after the last ID up to which all of its chunks had committed. Chunks that completed
+     * past that point are processed again, which is safe because processing only sets the status to
+     * {@value Item#STATUS_PROCESSED}.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedJobs() {
+        for (ProcessingJobRecord record : jobStore.findUnfinished()) {
+            resume(record);
+        }
+    }
+
+    /**
+     * Takes over and runs an unfinished job, or checks it again once its lease has expired.
+     * @param record The saved state of the job.
+     */
+    private void resume(ProcessingJobRecord record) {
+        // A job running on this instance renews its own lease and must not be started twice
+        if (jobRegistry.find(record.getId()).isPresent()) {
+            return;
+        }
+        if (!executor.withConnectionPermit(() -> jobStore.takeOver(record))) {
+            LOGGER.info("Not resuming processing job {} yet: owned by {} until {}", record.getId(),
+                    record.getOwner(), record.getLeaseExpiresAt());
+            resumeAfterLease(record);
+            return;
+        }
+        ProcessingJob job = ProcessingJob.resume(record);
+        job.setMaxResultIds(processingProperties.getJobs().getMaxResultIds());
+        jobRegistry.register(job);
+        LOGGER.info("Resuming {} processing job {} after item id {}", job.getMode(), job.getId(), record.getCheckpointId());
+        run(job);
+    }
+
+    /**
+     * Reads a job again shortly after its current lease has expired and resumes it if it is still unfinished.
+     * @param record The saved state of the job, as last read.
+     */
+    private void resumeAfterLease(ProcessingJobRecord record) {
+        long untilExpiry = record.getLeaseExpiresAt() == null ? 0
+                : Math.max(0, Duration.between(Instant.now(), record.getLeaseExpiresAt()).toMillis());
+        // The same margin as the lease renewals, so a live owner has renewed by the time the job is read again
+        long delay = untilExpiry + processingProperties.getJobs().getLease().toMillis() / 3;
+        CompletableFuture.runAsync(() -> {
+            try {
+                executor.withConnectionPermit(() -> jobStore.findUnfinished(record.getId())).ifPresent(this::resume);
+            } catch (RuntimeException e) {
+                LOGGER.warn("Failed to check processing job {} for takeover due to: {}", record.getId(), e.getMessage());
+                resumeAfterLease(record);
+            }
+        }, CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS, executor));
+    }
+
+    /**
+     * Runs a job in the background, starting after its checkpoint, and saves its outcome when it finishes.
+     * @param job The job to run.
+     */
+    private void run(ProcessingJob job) {
+        renewLeaseWhileRunning(job);
+        ProcessingProgressLog progress = newProgressLog("Processing job " + job.getId(), job.getTotal());
+        long after = job.getCheckpoint().snapshot().idWatermark();
+        Consumer<IdChunk> chunkTask = chunk -> processChunk(job, chunk, null, progress);
+        CompletableFuture<?> run;
+        switch (job.getScheduling()) {
+            case PARTITIONED -> {
+                IdRangePartitioner partitioner = new IdRangePartitioner(itemRepository, executor, job.isIncremental(),
+                        processingProperties.getChunkSize(), processingProperties.getPartitionTaskDuration(), chunkTask);
+                run = partitioner.run(executor.getMaxConcurrency(), job.getTotal(), after);
+            }
+            case CLAIMED -> {
+                ItemProcessingProperties.Claims claims = processingProperties.getClaims();
+                ClaimingWorker worker = new ClaimingWorker(claims.getWorkerId(), chunkProcessor, executor,
+                        processingProperties.getChunkSize(), claims.getTimeout());
+                run = worker.run(executor.getMaxConcurrency(),
+                        claim -> processChunk(job, IdChunk.of(claim.ids().get(0) - 1, claim.ids()), claim.token(), progress));
+            }
+            default -> run = submitChunks(job.isIncremental(), after, chunkTask);
+        }
+        run.whenComplete((v, e) -> {
+            if (e == null) {
+                progress.finish();
+                job.complete();
+            } else {
+                LOGGER.error("Processing job {} failed", job.getId(), e);
+                job.fail(e);
+            }
+            try {
+                executor.withConnectionPermit(() -> {
+                    jobStore.finish(job);
+                    return null;
+                });
+            } catch (RuntimeException storeError) {
+                LOGGER.error("Failed to save the outcome of processing job {}", job.getId(), storeError);
+            }
+        });
+    }
+
+    /**
+     * Renews the lease of a job every third of {@code items.processing.jobs.lease} until the job finishes, so no other
+     * instance resumes it while it runs. Renewal stops if another instance has taken the job over.
+     * @param job The running job.
+     */
+    private void renewLeaseWhileRunning(ProcessingJob job) {
+        long interval = processingProperties.getJobs().getLease().toMillis() / 3;
+        CompletableFuture.runAsync(() -> {
+            if (job.getCompletion().isDone()) {
+                return;
+            }
+            try {
+                if (!executor.withConnectionPermit(() -> jobStore.renewLease(job))) {
+                    if (!job.getCompletion().isDone()) {
+                        LOGGER.warn("Processing job {} has been taken over by another instance", job.getId());
+                    }
+                    return;
+                }
+            } catch (RuntimeException e) {
+                // The lease is tried again at the next interval, well before it expires
+                LOGGER.warn("Failed to renew the lease of processing job {} due to: {}", job.getId(), e.getMessage());
+            }
+            renewLeaseWhileRunning(job);
+        }, CompletableFuture.delayedExecutor(interval, TimeUnit.MILLISECONDS, executor));
+    }
+
+    /**
+     * Processes all items and reports only their IDs and counts.
+     * @param mode How each chunk is written.
+     * @return A CompletableFuture that completes with the IDs and counts of the processed items
+     */
+    public CompletableFuture<ProcessingSummary> processItemIdsAsync(ProcessingMode mode) {
+        return processItemIdsAsync(mode, ProcessingScheduling.CHUNKED, false);
+    }
+
+    /**
+     * Processes the items and reports only their IDs and counts. At most {@code items.processing.jobs.max-result-ids}
+     * IDs are listed; the summary is marked as truncated if more items were processed.
+     * @param mode How each chunk is written.
+     * @param scheduling How the items are divided into chunks.
+     * @param incremental Whether to skip the items that are already processed; claimed jobs always do.
+     * @return A CompletableFuture that completes with the IDs and counts of the processed items
+     */
+    public CompletableFuture<ProcessingSummary> processItemIdsAsync(ProcessingMode mode, ProcessingScheduling scheduling,
+                                                                    boolean incremental) {
+        return startProcessing(mode, scheduling, incremental).getCompletion().thenApply(ProcessingJob::toSummary);
+    }
+
+    /**
+     * Finds a processing job started on this instance.
+     * @param jobId The ID of the job.
+     * @return An Optional containing the job, or empty if not found.
+     */
+    public Optional<ProcessingJob> findJob(String jobId) {
+        return jobRegistry.find(jobId);
+    }
+
+    /**
+     * Loads one page of the items processed by a job.
+     * @param job The job whose results to load.
+     * @param page Zero-based page number.
+     * @param size Page size.
+     * @return The page, with the items ordered by ID.
+     */
+    @Transactional(readOnly = true)
+    public ProcessingResultsPage findProcessedItems(ProcessingJob job, int page, int size) {
+        List<Long> ids = job.getProcessedIds(page * size, size);
+        List<ItemResponse> items = ids.isEmpty() ? List.of() : itemRepository.findResponsesByIds(ids);
+        return new ProcessingResultsPage(job.getId(), page, size, job.getProcessedIdCount(), job.isResultsTruncated(), items);
+    }
+
+    /**
+     * Streams the items processed by a job whose IDs the job keeps to the given consumer, loading them one page at a time.
+     * The persistence context is cleared after every page, so memory use does not depend on the job size.
+     *
+     * @param job The job whose results to stream.
+     * @param consumer Receives each item; must not keep references to the items it is given.
+     */
+    @Transactional(readOnly = true)
+    public void streamProcessedItems(ProcessingJob job, Consumer<Item> consumer) {
+        int offset = 0;
+        List<Long> ids = job.getProcessedIds(offset, STREAM_CLEAR_INTERVAL);
+        while (!ids.isEmpty()) {
+            itemRepository.findAllById(ids).stream()
+                    .sorted(Comparator.comparing(Item::getId))
+                    .forEach(consumer);
+            entityManager.clear();
+            offset += ids.size();
+            ids = job.getProcessedIds(offset, STREAM_CLEAR_INTERVAL);
+        }
+    }
+
+    /**
+     * Walks the item IDs in ascending order and processes them one chunk at a time on the processing executor.
+     * Only one chunk of IDs is read at a time, so the full ID list is never materialized.
+     * At most {@code items.processing.backpressure.max-in-flight-chunks} chunks are read and not finished at once:
+     * the walk runs in that many {@link ChunkLanes lanes}, and a lane only reads the next chunk once its previous one
+     * has finished, so the executor queue stays short and the chunks read later see the limits as they are by then.
+     * No task waits for another one, so the walk cannot deadlock even when the pool has fewer threads than lanes.
+     * @param pendingOnly Whether to walk only the items that are not processed yet.
+     * @param after The ID after which to start; 0 to start at the first item.
+     * @param chunkTask The work to run for each chunk of IDs.
+     * @return A future that completes once every chunk has been processed.
+     */
+    private CompletableFuture<Void> submitChunks(boolean pendingOnly, long after, Consumer<IdChunk> chunkTask) {
+        int chunkSize = processingProperties.getChunkSize();
+        int maxInFlight = maxInFlightChunks();
+        IdCursor cursor = new IdCursor(pendingOnly, after, chunkSize);
+        return ChunkLanes.run(executor, maxInFlight, cursor::next, chunkTask)
+                .whenComplete((v, e) -> LOGGER.info("Submitted {} chunks of up to {} items, at most {} at a time",
+                        cursor.chunks, chunkSize, maxInFlight));
+    }
+
+    /**
+     * The position of a keyset walk over the item IDs, shared by the lanes of {@link #submitChunks}.
+     */
+    private final class IdCursor {
+        private final boolean pendingOnly;
+        private final int chunkSize;
+        // IDs are always positive, so 0 is a safe starting point for the keyset walk
+        private long lastId;
+        private boolean exhausted;
+        private int chunks;
+
+        private IdCursor(boolean pendingOnly, long after, int chunkSize) {
+            this.pendingOnly = pendingOnly;
+            this.lastId = after;
+            this.chunkSize = chunkSize;
+        }
+
+        /**
+         * @return The next chunk of IDs, or null once the walk has reached the end.
+         */
+        private synchronized IdChunk next() {
+            if (exhausted) {
+                return null;
+            }
+            List<Long> ids = nextChunk(pendingOnly, lastId, chunkSize);
+            if (ids.isEmpty()) {
+                exhausted = true;
+                return null;
+            }
+            IdChunk chunk = IdChunk.of(lastId, ids);
+            lastId = chunk.upTo();
+            chunks++;
+            return chunk;
+        }
+    }
+
+    /**
+     * @return The configured number of chunks allowed in flight at once, defaulting to twice the database concurrency.
+     */
+    private int maxInFlightChunks() {
+        int configured = processingProperties.getBackpressure().getMaxInFlightChunks();
+        return configured > 0 ? configured : 2 * executor.getMaxConcurrency();
+    }
+
+    private List<Long> nextChunk(boolean pendingOnly, long lastId, int chunkSize) {
+        return pendingOnly
+                ? itemRepository.findPendingIdsAfter(lastId, PageRequest.of(0, chunkSize))
+                : itemRepository.findIdsAfter(lastId, PageRequest.of(0, chunkSize));
+    }
+
+    /**
+     * Processes a single chunk and records the items that were written successfully.
+     * A failure only affects the items of this chunk, since each chunk commits in its own transaction.
+     * @param ids The IDs of the items in the chunk.
+     * @param processedItems Collects the processed items of the run.
+     * @param progress The progress log of the run.
+     */
+    private void processChunk(List<Long> ids, Queue<Item> processedItems, ProcessingProgressLog progress) {
+        Timer.Sample sample = metrics.start();
+        try {
+            executor.acquireItems(ids.size());
+            List<Item> items = hydrateChunk(() -> chunkProcessor.processChunk(ids));
+            evictCached(ids);
+            if (items.size() < ids.size()) {
+                LOGGER.warn("{} items of the chunk starting at id {} were not found", ids.size() - items.size(), ids.get(0));
+            }
+            processedItems.addAll(items);
+            metrics.recordChunk(sample, ProcessingMode.HYDRATE, ids.size(), items.size());
+            progress.record(items.size(), 0);
+        } catch (Exception e) {
+            metrics.recordChunkFailure(sample, ProcessingMode.HYDRATE, ids.size());
+            progress.record(0, ids.size());
+            LOGGER.error("Failed to process chunk starting at id {} due to: {}", ids.get(0), e.getMessage());
+        }
+    }
+
+    /**
+     * Processes a single chunk of a job, records its outcome in the job counters and saves the job checkpoint
+     * if it moved. The checkpoint is saved after the chunk has committed, in its own transaction.
+     * @param job The job the chunk belongs to.
+     * @param chunk The chunk; a chunk without IDs only moves the checkpoint.
+     * @param claimToken The token of the claim holding the items of a {@link ProcessingScheduling#CLAIMED} job; otherwise null.
+     * @param progress The progress log of the job.
+     */
+    private void processChunk(ProcessingJob job, IdChunk chunk, String claimToken, ProcessingProgressLog progress) {
+        List<Long> ids = chunk.ids();
+        int processed = 0;
+        int failed = 0;
+        if (!ids.isEmpty()) {
+            Timer.Sample sample = metrics.start();
+            try {
+                executor.acquireItems(ids.size());
+                if (job.getMode() == ProcessingMode.BULK) {
+                    int updatedRows = executor.withConnectionPermit(() -> markChunkProcessed(job, ids, claimToken));
+                    evictCached(ids);
+                    job.recordProcessed(ids, updatedRows);
+                    processed = updatedRows;
+                } else {
+                    List<Item> items = hydrateChunk(() -> claimToken != null
+                            ? chunkProcessor.processClaimedChunk(ids, claimToken)
+                            : chunkProcessor.processChunk(ids));
+                    evictCached(ids);
+                    job.recordProcessedItems(items);
+                    processed = items.size();
+                }
+                metrics.recordChunk(sample, job.getMode(), ids.size(), processed);
+                progress.record(processed, 0);
+            } catch (Exception e) {
+                metrics.recordChunkFailure(sample, job.getMode(), ids.size());
+                progress.record(0, ids.size());
+                job.recordFailed(ids.size());
+                failed = ids.size();
+                LOGGER.error("Failed to process chunk starting at id {} of job {} due to: {}", ids.get(0), job.getId(), e.getMessage());
+            }
+        }
+
+        // Claimed chunks are not contiguous, so they never move the checkpoint
+        if (job.getScheduling() != ProcessingScheduling.CLAIMED && job.recordCompleted(chunk, processed, failed)) {
+            try {
+                executor.withConnectionPermit(() -> {
+                    jobStore.saveCheckpoint(job);
+                    return null;
+                });
+            } catch (RuntimeException e) {
+                // The next checkpoint covers this one, so processing carries on
+                LOGGER.warn("Failed to save the checkpoint of processing job {} due to: {}", job.getId(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Reads a chunk, runs it through the item processors and writes it back, retrying the whole chunk on a conflict.
+     * A connection permit is only held while reading and writing; while asynchronous processors run, the task waits
+     * for their stage without a connection, which on the default virtual threads parks no carrier thread either.
+     * @param process Reads and processes the chunk in one transaction.
+     * @return The written items.
+     */
+    private List<Item> hydrateChunk(Supplier<ProcessedChunk> process) {
+        return conflictRetry().call(() -> {
+            ProcessedChunk chunk = executor.withConnectionPermit(process);
+            if (chunk.isWritten()) {
+                return chunk.written();
+            }
+            List<Item> processed = join(chunk.pending());
+            return executor.withConnectionPermit(() -> chunkProcessor.saveProcessedChunk(processed));
+        });
+    }
+
+    /**
+     * Waits for a stage, rethrowing the failure of the stage itself rather than its CompletionException wrapper.
+     */
+    private static <T> T join(CompletableFuture<T> stage) {
+        try {
+            return stage.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Marks a chunk of a {@link ProcessingMode#BULK} job as processed with one bulk UPDATE.
+     * @param job The job the chunk belongs to.
+     * @param ids The IDs of the items in the chunk.
+     * @param claimToken The token of the claim holding the items, or null if the job does not claim them.
+     * @return The number of updated rows.
+     */
+    private int markChunkProcessed(ProcessingJob job, List<Long> ids, String claimToken) {
+        if (claimToken != null) {
+            return chunkProcessor.markClaimedChunkProcessed(ids, claimToken);
+        }
+        // An incremental job leaves the already processed items between the pending IDs untouched
+        if (job.isIncremental()) {
+            return chunkProcessor.markPendingChunkProcessed(ids.get(0), ids.get(ids.size() - 1));
+        }
+        return chunkProcessor.markChunkProcessed(ids.get(0), ids.get(ids.size() - 1));
+    }
+
+    /**
+     * Creates the retry policy for processing writes that conflict with concurrent changes,
+     * configured by {@code items.processing.retry}.
+     * The connection permit is taken inside each attempt, so it is not held during the back-off.
+     * @return The retry policy.
+     */
+    private ConflictRetry conflictRetry() {
+        return new ConflictRetry(processingProperties.getRetry());
+    }
+
+    /**
+     * Creates the progress log of a processing run, reporting every {@code items.processing.progress-log-interval}.
+     * @param run Description of the run.
+     * @param total Number of items the run is expected to process.
+     * @return The progress log.
+     */
+    private ProcessingProgressLog newProgressLog(String run, long total) {
+        return new ProcessingProgressLog(run, total, processingProperties.getProgressLogInterval());
+    }
+
+    /**
+     * Removes items from the item cache once they are committed,
+     * so the next {@link #findById(Long)} reads them from the database.
+     * @param ids The IDs of the items to evict.
+     */
+    private void evictCached(List<Long> ids) {
+        ItemCacheConfig.evictItems(cacheManager, ids);
+    }
+
+    /**
+     * Asynchronously processes all items from the database, one task and one transaction per item.
+     * Kept as a baseline to compare against the chunked pipeline of {@link #processItemsAsync()}.
+     * Each item is read, passed through the {@link ItemProcessingPipeline} and saved as a chain of stages,
+     * so items whose processors are waiting hold neither a thread nor a connection.
      *
      * This implementation:
      * 1. Creates a CompletableFuture for each item that needs processing
@@ -94,56 +959,54 @@ public class ItemService {
      * 3. Collects successfully processed items only after confirming they were processed
      * 4. Handles exceptions for individual item processing without failing the entire batch
      * 5. Returns a properly completed future with all successfully processed items
+     * 6. Returns immediately, composing the run on the processing executor like {@link #processItemsAsync()}
      *
      * @return A CompletableFuture that completes with a list of all successfully processed items
      */
-    @Async
-    public CompletableFuture<List<Item>> processItemsAsync() throws ExecutionException, InterruptedException{
-        List<Long> itemIds = itemRepository.findAllIds();
-        LOGGER.info("Starting async processing of " + itemIds.size() + " items");
+    public CompletableFuture<List<Item>> processItemsPerItemAsync() {
+        return CompletableFuture.supplyAsync(() -> executor.withConnectionPermit(itemRepository::findAllIds), executor)
+                .thenCompose(this::processItemsPerItem);
+    }
+
+    private CompletableFuture<List<Item>> processItemsPerItem(List<Long> itemIds) {
+        LOGGER.info("Starting async processing of {} items", itemIds.size());
+        ProcessingProgressLog progress = newProgressLog("Per-item processing", itemIds.size());
 
-        // Folosim atributele de instanță deja existente
-        // processedCount și processedItems sunt deja declarate la nivelul clasei, deci nu mai trebuie create local.
+        // Fiecare rulare își colectează propriile iteme, într-o coadă fără blocare, eliberată la final
+        Queue<Item> processedItems = new ConcurrentLinkedQueue<>();
 
         // Lista de futures pentru a urmări finalizarea taskurilor asincrone
         List<CompletableFuture<Void>> futures = new ArrayList<>();
 
         // Procesăm fiecare item asincron
         for (Long id : itemIds) {
-            CompletableFuture<Void> future = CompletableFuture.runAsync(() -> {
-                try {
-                    // Sleep pentru a simula procesarea unui item
-                    Thread.sleep(100);
-
-                    // Încercăm să găsim itemul
-                    Optional<Item> optionalItem = itemRepository.findById(id);
-                    if (optionalItem.isEmpty()) {
-                        LOGGER.warning("Item not found with id: " + id);
-                        return; // Dacă itemul nu există, continuăm cu următorul item
-                    }
+            CompletableFuture<Void> future = CompletableFuture.supplyAsync(metrics::start, executor)
+                    .thenCompose(sample -> {
+                        // Respectăm limita de iteme pe secundă înainte de a folosi baza de date
+                        executor.acquireItems(1);
 
-                    Item item = optionalItem.get();
-                    LOGGER.info("Processing item: " + item.getId() + " - " + item.getName());
-
-                    // Actualizăm statusul itemului
-                    item.setStatus("PROCESSED");
-
-                    // Salvăm itemul procesat în baza de date
-                    itemRepository.save(item);
-
-                    // Adăugăm itemul procesat în lista thread-safe
-                    processedItems.add(item);
+                        // Procesăm itemul; dacă între citire și salvare a fost modificat de altcineva, îl recitim și reîncercăm
+                        return conflictRetry().callAsync(() -> processItemAsync(id)).handle((optionalItem, e) -> {
+                            if (e != null) {
+                                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                                LOGGER.error("Failed to process item with id: {} due to: {}", id, cause.getMessage());
+                                metrics.recordItem(sample, ProcessingMode.HYDRATE, ProcessingMetrics.Outcome.FAILURE);
+                                progress.record(0, 1);
+                            } else if (optionalItem.isEmpty()) {
+                                // Dacă itemul nu există, continuăm cu următorul item
+                                LOGGER.warn("Item not found with id: {}", id);
+                                metrics.recordItem(sample, ProcessingMode.HYDRATE, ProcessingMetrics.Outcome.NOT_FOUND);
+                            } else {
+                                evictCached(List.of(id));
 
-                    // Incrementăm contorul de iteme procesate folosind AtomicInteger pentru a asigura thread-safety
-                    processedCount.incrementAndGet();
-
-                } catch (InterruptedException e) {
-                    LOGGER.severe("Processing interrupted for item id: " + id);
-                    Thread.currentThread().interrupt();
-                } catch (Exception e) {
-                    LOGGER.severe("Failed to process item with id: " + id + " due to: " + e.getMessage());
-                }
-            }, executor);
+                                // Adăugăm itemul procesat în coada thread-safe a acestei rulări
+                                processedItems.add(optionalItem.get());
+                                metrics.recordItem(sample, ProcessingMode.HYDRATE, ProcessingMetrics.Outcome.SUCCESS);
+                                progress.record(1, 0);
+                            }
+                            return null;
+                        });
+                    });
 
             // Adăugăm taskul asincron în lista de futures
             futures.add(future);
@@ -153,12 +1016,37 @@ public class ItemService {
         return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
                 .thenApply(v -> {
                     // Logăm câte iteme au fost procesate cu succes
-                    LOGGER.info("Completed processing. Successfully processed: " + processedCount.get() + " items.");
+                    progress.finish();
 
                     // Returnăm lista itemelor procesate
                     return new ArrayList<>(processedItems); // Returnăm o copie a listei procesate
                 });
     }
 
+    /**
+     * Reads one item, runs it through the item processors and saves it.
+     * No thread waits while the processors run; the save fails with an optimistic locking conflict
+     * if the item was changed after it was read.
+     * @param id The ID of the item.
+     * @return A stage completing with the saved item, or empty if no item with this ID exists.
+     */
+    private CompletableFuture<Optional<Item>> processItemAsync(Long id) {
+        // Încercăm să găsim itemul
+        return CompletableFuture.supplyAsync(() -> executor.withConnectionPermit(() -> itemRepository.findById(id)), executor)
+                .thenCompose(optionalItem -> {
+                    if (optionalItem.isEmpty()) {
+                        return CompletableFuture.completedFuture(Optional.<Item>empty());
+                    }
+
+                    Item item = optionalItem.get();
+                    LOGGER.debug("Processing item: {} - {}", item.getId(), item.getName());
+
+                    // Trecem itemul prin procesoare, printre care și actualizarea statusului, fără a ține o conexiune
+                    return pipeline.process(item).thenApplyAsync(processed ->
+                            // Salvăm itemul procesat în baza de date
+                            Optional.of(executor.withConnectionPermit(() -> itemRepository.save(processed))), executor);
+                });
+    }
+
 }
 
@@ -0,0 +1,12 @@
+package com.siemens.internship;
+
+import java.util.List;
+
+/**
+ * Item counts returned by the stats endpoint.
+ *
+ * @param total    Number of items
+ * @param byStatus Number of items of every status, ordered by status
+ */
+public record ItemStats(long total, List<ItemStatusCount> byStatus) {
+}
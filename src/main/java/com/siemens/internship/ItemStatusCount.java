@@ -0,0 +1,10 @@
+package com.siemens.internship;
+
+/**
+ * Number of items with one status, read by an aggregate query without loading the items.
+ *
+ * @param status The status, or {@code null} for items without one
+ * @param count  Number of items with this status
+ */
+public record ItemStatusCount(String status, long count) {
+}
@@ -0,0 +1,11 @@
+package com.siemens.internship;
+
+/**
+ * Slim view of an item for listings, read by a constructor projection without loading the entity.
+ *
+ * @param id     ID of the item
+ * @param name   Name of the item
+ * @param status Status of the item, or {@code null} if it has none
+ */
+public record ItemSummary(Long id, String name, String status) {
+}
@@ -0,0 +1,42 @@
+package com.siemens.internship;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes values to an output stream as newline-delimited JSON, one value per line.
+ * Used by the streaming endpoints so that no response is ever assembled in memory.
+ */
+public class NdjsonWriter {
+    private static final byte NEWLINE = '\n';
+
+    private final ObjectMapper objectMapper;
+    private final OutputStream out;
+
+    /**
+     * Creates a writer for one response.
+     * @param objectMapper The mapper used to serialize each value.
+     * @param out The response output stream; it is never closed by this writer.
+     */
+    public NdjsonWriter(ObjectMapper objectMapper, OutputStream out) {
+        this.objectMapper = objectMapper;
+        this.out = out;
+    }
+
+    /**
+     * Serializes a value and writes it as one line.
+     * @param value The value to write.
+     * @throws UncheckedIOException if the client disconnected or the stream failed.
+     */
+    public void write(Object value) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(value));
+            out.write(NEWLINE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.siemens.internship;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Outcome of running a chunk through the item processors inside its read transaction.
+ * @param written The items written back in that transaction, or null if the processors had not completed yet
+ * @param pending Completes with the processed items that still have to be written, or null if they were written
+ */
+public record ProcessedChunk(List<Item> written, CompletableFuture<List<Item>> pending) {
+
+    /**
+     * @param items The items written in the read transaction.
+     * @return A chunk that needs no further write.
+     */
+    public static ProcessedChunk written(List<Item> items) {
+        return new ProcessedChunk(items, null);
+    }
+
+    /**
+     * @param items Completes with the processed items once the processors are done.
+     * @return A chunk that still has to be written.
+     */
+    public static ProcessedChunk pending(CompletableFuture<List<Item>> items) {
+        return new ProcessedChunk(null, items);
+    }
+
+    /**
+     * @return Whether the items were written in the read transaction.
+     */
+    public boolean isWritten() {
+        return pending == null;
+    }
+}
@@ -0,0 +1,75 @@
+package com.siemens.internship;
+
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Tracks how far a processing job has got: the highest ID up to which every chunk has completed,
+ * and the item counts of those chunks.
+ * Chunks may complete in any order; a chunk that completes ahead of a gap is held back until the gap is filled,
+ * so the checkpoint never skips a chunk that is still running.
+ */
+public class ProcessingCheckpoint {
+    private final NavigableMap<Long, Completed> completedAhead = new TreeMap<>();
+    private long idWatermark;
+    private int processedCount;
+    private int failedCount;
+
+    /**
+     * Creates a checkpoint.
+     * @param idWatermark The highest ID up to which every chunk has completed; 0 for a new job.
+     * @param processedCount The number of items processed up to that ID.
+     * @param failedCount The number of items that failed up to that ID.
+     */
+    public ProcessingCheckpoint(long idWatermark, int processedCount, int failedCount) {
+        this.idWatermark = idWatermark;
+        this.processedCount = processedCount;
+        this.failedCount = failedCount;
+    }
+
+    /**
+     * Records a completed chunk and moves the watermark over every chunk that now joins up with it.
+     * @param chunk The completed chunk.
+     * @param processed The number of items of the chunk that were processed.
+     * @param failed The number of items of the chunk that failed.
+     * @return true if the watermark moved.
+     */
+    public synchronized boolean complete(IdChunk chunk, int processed, int failed) {
+        if (chunk.after() != idWatermark) {
+            completedAhead.put(chunk.after(), new Completed(chunk.upTo(), processed, failed));
+            return false;
+        }
+        advance(chunk.upTo(), processed, failed);
+        Completed next;
+        while ((next = completedAhead.remove(idWatermark)) != null) {
+            advance(next.upTo, next.processed, next.failed);
+        }
+        return true;
+    }
+
+    private void advance(long upTo, int processed, int failed) {
+        idWatermark = upTo;
+        processedCount += processed;
+        failedCount += failed;
+    }
+
+    /**
+     * @return The current watermark and counts.
+     */
+    public synchronized Snapshot snapshot() {
+        return new Snapshot(idWatermark, processedCount, failedCount);
+    }
+
+    /**
+     * A consistent view of a checkpoint.
+     *
+     * @param idWatermark    The highest ID up to which every chunk has completed
+     * @param processedCount The number of items processed up to that ID
+     * @param failedCount    The number of items that failed up to that ID
+     */
+    public record Snapshot(long idWatermark, int processedCount, int failedCount) {
+    }
+
+    private record Completed(long upTo, int processed, int failed) {
+    }
+}
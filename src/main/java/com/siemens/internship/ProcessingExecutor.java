@@ -0,0 +1,156 @@
+package com.siemens.internship;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Executor that runs item processing tasks.
+ * Tasks may run on any number of threads, but the database work inside them is limited by a {@link ConcurrencyLimiter}
+ * so that no more tasks hold a connection at once than the connection pool can serve, and fewer while the database
+ * is under load. An optional {@link ItemRateLimiter} caps the number of items processed per second.
+ * The underlying executor is shut down gracefully when the Spring context closes.
+ */
+public class ProcessingExecutor implements Executor, DisposableBean {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProcessingExecutor.class);
+
+    private final ExecutorService delegate;
+    private final ConcurrencyLimiter connectionPermits;
+    private final ItemRateLimiter rateLimiter;
+    private final Duration shutdownTimeout;
+    private final AtomicInteger queuedTasks = new AtomicInteger();
+    private final AtomicInteger activeTasks = new AtomicInteger();
+
+    /**
+     * Creates a processing executor.
+     * @param delegate The executor the tasks run on.
+     * @param maxConcurrency Maximum number of tasks allowed inside {@link #withConnectionPermit(Supplier)} at once.
+     * @param shutdownTimeout How long {@link #destroy()} waits for running tasks.
+     */
+    public ProcessingExecutor(ExecutorService delegate, int maxConcurrency, Duration shutdownTimeout) {
+        this(delegate, ConcurrencyLimiter.fixed(maxConcurrency), null, shutdownTimeout);
+    }
+
+    /**
+     * Creates a processing executor.
+     * @param delegate The executor the tasks run on.
+     * @param connectionPermits Limits the tasks inside {@link #withConnectionPermit(Supplier)} at once.
+     * @param rateLimiter Caps the items processed per second, or null for no cap.
+     * @param shutdownTimeout How long {@link #destroy()} waits for running tasks.
+     */
+    public ProcessingExecutor(ExecutorService delegate, ConcurrencyLimiter connectionPermits, ItemRateLimiter rateLimiter,
+                              Duration shutdownTimeout) {
+        this.delegate = delegate;
+        this.connectionPermits = connectionPermits;
+        this.rateLimiter = rateLimiter;
+        this.shutdownTimeout = shutdownTimeout;
+    }
+
+    /**
+     * Submits a task to the underlying executor, counting it as queued until it starts and as active while it runs.
+     * @param task The task to run.
+     */
+    @Override
+    public void execute(Runnable task) {
+        queuedTasks.incrementAndGet();
+        try {
+            delegate.execute(() -> {
+                queuedTasks.decrementAndGet();
+                activeTasks.incrementAndGet();
+                try {
+                    task.run();
+                } finally {
+                    activeTasks.decrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            queuedTasks.decrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * @return The number of submitted tasks that have not started yet.
+     */
+    public int getQueuedTasks() {
+        return queuedTasks.get();
+    }
+
+    /**
+     * @return The number of tasks currently running, including those waiting for a connection permit.
+     */
+    public int getActiveTasks() {
+        return activeTasks.get();
+    }
+
+    /**
+     * @return The number of tasks blocked in {@link #withConnectionPermit(Supplier)}.
+     */
+    public int getPermitWaiters() {
+        return connectionPermits.getWaiting();
+    }
+
+    /**
+     * @return The highest number of tasks ever allowed inside {@link #withConnectionPermit(Supplier)} at once.
+     */
+    public int getMaxConcurrency() {
+        return connectionPermits.getMaxLimit();
+    }
+
+    /**
+     * @return The number of tasks currently allowed inside {@link #withConnectionPermit(Supplier)} at once.
+     */
+    public int getConcurrencyLimit() {
+        return connectionPermits.getLimit();
+    }
+
+    /**
+     * Runs database work while holding one of the connection permits.
+     * Blocks until a permit is available; on virtual threads this only parks the virtual thread.
+     * How long the work takes feeds the adaptive limit.
+     * @param work The work that needs a database connection.
+     * @return The result of the work.
+     */
+    public <T> T withConnectionPermit(Supplier<T> work) {
+        connectionPermits.acquire();
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            connectionPermits.release(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Waits until the given number of items may be processed without exceeding the configured items per second.
+     * Returns immediately when no ceiling is configured. Must be called before taking a connection permit,
+     * so a throttled task does not hold a connection while it waits.
+     * @param items Number of items about to be processed.
+     */
+    public void acquireItems(int items) {
+        if (rateLimiter != null) {
+            rateLimiter.acquire(items);
+        }
+    }
+
+    /**
+     * Stops accepting tasks and waits up to the shutdown timeout for the running ones to finish.
+     * Tasks still running after the timeout are interrupted.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        delegate.shutdown();
+        if (!delegate.awaitTermination(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            LOGGER.warn("Processing tasks did not finish within {}, interrupting them", shutdownTimeout);
+            delegate.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.siemens.internship;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntSupplier;
+
+/**
+ * Configuration of the executor used for item processing.
+ * The asynchronous service methods compose their futures on this executor directly rather than being
+ * {@code @Async} methods, which would hold a pool thread waiting for each returned future.
+ */
+@Configuration
+public class ProcessingExecutorConfig {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProcessingExecutorConfig.class);
+
+    /**
+     * Name of the processing executor bean.
+     */
+    public static final String EXECUTOR_NAME = "itemProcessingExecutor";
+
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    /**
+     * Creates the processing executor from the {@code items.processing.executor} and
+     * {@code items.processing.backpressure} properties.
+     * When no explicit limit is configured, database concurrency is capped at the Hikari pool size.
+     * @param properties The processing configuration.
+     * @param dataSource The application data source.
+     * @return The processing executor.
+     */
+    @Bean(name = EXECUTOR_NAME)
+    public ProcessingExecutor itemProcessingExecutor(ItemProcessingProperties properties, DataSource dataSource) {
+        ItemProcessingProperties.Executor config = properties.getExecutor();
+        ItemProcessingProperties.Backpressure backpressure = properties.getBackpressure();
+        int maxConcurrency = config.getMaxConcurrency() > 0 ? config.getMaxConcurrency() : connectionPoolSize(dataSource);
+
+        ExecutorService delegate = switch (config.getType()) {
+            case VIRTUAL -> Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("item-processing-", 0).factory());
+            case PLATFORM -> Executors.newFixedThreadPool(config.getPoolSize(), Thread.ofPlatform().name("item-processing-", 0).factory());
+        };
+        ConcurrencyLimiter limiter = backpressure.isAdaptive()
+                ? new ConcurrencyLimiter(Math.min(Math.max(backpressure.getMinConcurrency(), 1), maxConcurrency), maxConcurrency,
+                        backpressure.getLatencyTolerance(), poolWaiters(dataSource))
+                : ConcurrencyLimiter.fixed(maxConcurrency);
+        ItemRateLimiter rateLimiter = backpressure.getMaxItemsPerSecond() > 0
+                ? new ItemRateLimiter(backpressure.getMaxItemsPerSecond())
+                : null;
+        LOGGER.info("Item processing uses {} threads with at most {} concurrent database tasks ({} limit), {} items/s ceiling",
+                config.getType(), maxConcurrency, backpressure.isAdaptive() ? "adaptive" : "fixed",
+                rateLimiter == null ? "no" : backpressure.getMaxItemsPerSecond());
+        return new ProcessingExecutor(delegate, limiter, rateLimiter, config.getShutdownTimeout());
+    }
+
+    /**
+     * Reads how many threads are waiting for a connection from the Hikari pool; always 0 for other data sources.
+     * The pool is only started by the first connection, so it is looked up on every read.
+     */
+    private static IntSupplier poolWaiters(DataSource dataSource) {
+        if (!(dataSource instanceof HikariDataSource hikari)) {
+            return () -> 0;
+        }
+        return () -> {
+            HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+            return pool == null ? 0 : pool.getThreadsAwaitingConnection();
+        };
+    }
+
+    /**
+     * Reads the maximum size of the connection pool, falling back to Hikari's default of 10
+     * when the pool size is not configured yet.
+     */
+    private static int connectionPoolSize(DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource hikari && hikari.getMaximumPoolSize() > 0) {
+            return hikari.getMaximumPoolSize();
+        }
+        return DEFAULT_POOL_SIZE;
+    }
+}
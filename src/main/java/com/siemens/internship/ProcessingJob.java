@@ -0,0 +1,219 @@
+package com.siemens.internship;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * A single processing run started through the job API.
+ * Progress counters are updated by the chunk tasks while the run is in progress and can be read at any time.
+ */
+@Getter
+public class ProcessingJob {
+
+    /**
+     * Number of processed IDs a job keeps for its results unless configured otherwise.
+     */
+    public static final int DEFAULT_MAX_RESULT_IDS = 10_000;
+
+    private final String id;
+    private final ProcessingMode mode;
+    private final ProcessingScheduling scheduling;
+    private final boolean incremental;
+    private final long total;
+    private final Instant startedAt;
+    private final AtomicInteger processedCount;
+    private final AtomicInteger failedCount;
+    private final ProcessingCheckpoint checkpoint;
+    private final CompletableFuture<ProcessingJob> completion = new CompletableFuture<>();
+    private volatile ProcessingJobStatus status = ProcessingJobStatus.RUNNING;
+    private volatile Instant finishedAt;
+
+    // Appended once per chunk, so contention on the lock stays low; never longer than maxResultIds
+    @Getter(AccessLevel.NONE)
+    private final List<Long> processedIds = new ArrayList<>();
+
+    /**
+     * Maximum number of processed IDs kept for the results of the job; the items processed after that are only
+     * counted, so a job over a large table does not hold all of its IDs in memory. Set before the job starts.
+     */
+    @Setter
+    private volatile int maxResultIds = DEFAULT_MAX_RESULT_IDS;
+
+    /**
+     * Whether the job has processed more items than it keeps the IDs of.
+     */
+    private volatile boolean resultsTruncated;
+
+    /**
+     * Receives the items of every hydrated chunk right after the chunk has committed; set before the job starts.
+     * It is called from the chunk tasks, so it must be thread-safe and should not throw.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter
+    private volatile Consumer<List<Item>> itemListener = items -> { };
+
+    /**
+     * Creates a running job.
+     * @param mode How the job writes each chunk.
+     * @param total Number of items in the table when the job starts.
+     */
+    public ProcessingJob(ProcessingMode mode, long total) {
+        this(mode, ProcessingScheduling.CHUNKED, false, total);
+    }
+
+    /**
+     * Creates a running job.
+     * @param mode How the job writes each chunk.
+     * @param scheduling How the job divides the items into chunks.
+     * @param incremental Whether the job only processes items that are not processed yet.
+     * @param total Number of items the job is expected to process.
+     */
+    public ProcessingJob(ProcessingMode mode, ProcessingScheduling scheduling, boolean incremental, long total) {
+        this(UUID.randomUUID().toString(), mode, scheduling, incremental, total, Instant.now(), new ProcessingCheckpoint(0, 0, 0));
+    }
+
+    private ProcessingJob(String id, ProcessingMode mode, ProcessingScheduling scheduling, boolean incremental, long total,
+                          Instant startedAt, ProcessingCheckpoint checkpoint) {
+        this.id = id;
+        this.mode = mode;
+        this.scheduling = scheduling;
+        this.incremental = incremental;
+        this.total = total;
+        this.startedAt = startedAt;
+        this.checkpoint = checkpoint;
+        ProcessingCheckpoint.Snapshot resumedFrom = checkpoint.snapshot();
+        this.processedCount = new AtomicInteger(resumedFrom.processedCount());
+        this.failedCount = new AtomicInteger(resumedFrom.failedCount());
+    }
+
+    /**
+     * Recreates a job that was interrupted, continuing from its saved checkpoint.
+     * Its counters start from the counts saved with the checkpoint; the IDs processed before the interruption
+     * are not part of its results.
+     * @param record The saved state of the job.
+     * @return The running job.
+     */
+    public static ProcessingJob resume(ProcessingJobRecord record) {
+        return new ProcessingJob(record.getId(), record.getMode(), record.getScheduling(), record.isIncremental(),
+                record.getTotal(), record.getStartedAt(),
+                new ProcessingCheckpoint(record.getCheckpointId(), record.getProcessedCount(), record.getFailedCount()));
+    }
+
+    /**
+     * Records a chunk that was written successfully. Its IDs are kept for the results of the job as long as fewer
+     * than {@link #getMaxResultIds()} are kept already.
+     * @param ids The IDs of the processed items.
+     * @param updatedRows The number of rows the chunk updated.
+     */
+    public void recordProcessed(List<Long> ids, int updatedRows) {
+        synchronized (processedIds) {
+            int room = Math.max(0, maxResultIds - processedIds.size());
+            if (ids.size() > room) {
+                resultsTruncated = true;
+                processedIds.addAll(ids.subList(0, room));
+            } else {
+                processedIds.addAll(ids);
+            }
+        }
+        processedCount.addAndGet(updatedRows);
+    }
+
+    /**
+     * Records a hydrated chunk that was written successfully and hands its items to the item listener.
+     * @param items The processed items, as written.
+     */
+    public void recordProcessedItems(List<Item> items) {
+        recordProcessed(items.stream().map(Item::getId).collect(Collectors.toList()), items.size());
+        itemListener.accept(items);
+    }
+
+    /**
+     * Records a chunk that failed.
+     * @param itemCount The number of items in the chunk.
+     */
+    public void recordFailed(int itemCount) {
+        failedCount.addAndGet(itemCount);
+    }
+
+    /**
+     * Records that a chunk has finished, successfully or not, in the checkpoint of the job.
+     * @param chunk The chunk.
+     * @param processed The number of items of the chunk that were processed.
+     * @param failed The number of items of the chunk that failed.
+     * @return true if the checkpoint moved and should be saved.
+     */
+    public boolean recordCompleted(IdChunk chunk, int processed, int failed) {
+        return checkpoint.complete(chunk, processed, failed);
+    }
+
+    /**
+     * Marks the job as completed and completes {@link #getCompletion()}.
+     */
+    public void complete() {
+        finish(ProcessingJobStatus.COMPLETED);
+        completion.complete(this);
+    }
+
+    /**
+     * Marks the job as failed and completes {@link #getCompletion()} exceptionally.
+     * @param cause The error that stopped the job.
+     */
+    public void fail(Throwable cause) {
+        finish(ProcessingJobStatus.FAILED);
+        completion.completeExceptionally(cause);
+    }
+
+    private void finish(ProcessingJobStatus finalStatus) {
+        finishedAt = Instant.now();
+        status = finalStatus;
+    }
+
+    /**
+     * Returns a copy of a slice of the kept processed IDs, in the order the chunks completed.
+     * @param offset Index of the first ID to return.
+     * @param limit Maximum number of IDs to return.
+     * @return The IDs of the slice; empty if the offset is past the end.
+     */
+    public List<Long> getProcessedIds(int offset, int limit) {
+        synchronized (processedIds) {
+            if (offset >= processedIds.size()) {
+                return List.of();
+            }
+            return new ArrayList<>(processedIds.subList(offset, Math.min(processedIds.size(), offset + limit)));
+        }
+    }
+
+    /**
+     * @return The number of processed IDs kept so far; at most {@link #getMaxResultIds()}.
+     */
+    public int getProcessedIdCount() {
+        synchronized (processedIds) {
+            return processedIds.size();
+        }
+    }
+
+    /**
+     * @return A snapshot of the progress counters.
+     */
+    public ProcessingProgress toProgress() {
+        return new ProcessingProgress(id, mode, status, total, processedCount.get(), failedCount.get(), startedAt, finishedAt);
+    }
+
+    /**
+     * @return The kept IDs and the counts of the processed items.
+     */
+    public ProcessingSummary toSummary() {
+        return new ProcessingSummary(getProcessedIds(0, Integer.MAX_VALUE), processedCount.get(), failedCount.get(),
+                resultsTruncated);
+    }
+}
@@ -0,0 +1,82 @@
+package com.siemens.internship;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Durable state of a {@link ProcessingJob}, so that a job interrupted by a restart can be resumed
+ * from its last checkpoint instead of from the beginning.
+ */
+@Entity
+@Table(name = "processing_job", indexes = @Index(name = "idx_processing_job_status", columnList = "status"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class ProcessingJobRecord {
+    @Id
+    private String id;
+
+    @Enumerated(EnumType.STRING)
+    private ProcessingMode mode;
+
+    @Enumerated(EnumType.STRING)
+    private ProcessingScheduling scheduling;
+
+    private boolean incremental;
+
+    @Enumerated(EnumType.STRING)
+    private ProcessingJobStatus status;
+
+    private long total;
+
+    /**
+     * The highest item ID up to which every chunk of the job has completed.
+     */
+    private long checkpointId;
+
+    private int processedCount;
+    private int failedCount;
+    private Instant startedAt;
+    private Instant finishedAt;
+
+    /**
+     * The instance running the job, by its {@code items.processing.claims.worker-id}.
+     */
+    private String owner;
+
+    /**
+     * Until when the owner holds the job; a running job whose lease has expired is resumed by the next instance
+     * that starts.
+     */
+    private Instant leaseExpiresAt;
+
+    /**
+     * Creates the record of a job that has just started.
+     * @param job The job.
+     * @return The record.
+     */
+    public static ProcessingJobRecord of(ProcessingJob job) {
+        ProcessingJobRecord record = new ProcessingJobRecord();
+        record.setId(job.getId());
+        record.setMode(job.getMode());
+        record.setScheduling(job.getScheduling());
+        record.setIncremental(job.isIncremental());
+        record.setStatus(job.getStatus());
+        record.setTotal(job.getTotal());
+        ProcessingCheckpoint.Snapshot checkpoint = job.getCheckpoint().snapshot();
+        record.setCheckpointId(checkpoint.idWatermark());
+        record.setProcessedCount(checkpoint.processedCount());
+        record.setFailedCount(checkpoint.failedCount());
+        record.setStartedAt(job.getStartedAt());
+        return record;
+    }
+}
@@ -0,0 +1,96 @@
+package com.siemens.internship;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for the durable state of processing jobs.
+ */
+public interface ProcessingJobRecordRepository extends JpaRepository<ProcessingJobRecord, String> {
+
+    /**
+     * Find all jobs in the given state.
+     * @param status The state.
+     * @return The jobs, oldest first.
+     */
+    List<ProcessingJobRecord> findByStatusOrderByStartedAt(ProcessingJobStatus status);
+
+    /**
+     * Find a job if it is in the given state.
+     * @param id The ID of the job.
+     * @param status The state.
+     * @return The job, or empty if it does not exist or is in another state.
+     */
+    Optional<ProcessingJobRecord> findByIdAndStatus(String id, ProcessingJobStatus status);
+
+    /**
+     * Move the checkpoint of a job forward. A checkpoint that is not ahead of the stored one is ignored,
+     * so checkpoints saved concurrently can never move it backwards, as is one saved by a former owner of the job.
+     * Must be called inside a transaction.
+     * @param id The ID of the job.
+     * @param owner The instance saving the checkpoint.
+     * @param checkpointId The highest item ID up to which every chunk has completed.
+     * @param processedCount The number of items processed up to that ID.
+     * @param failedCount The number of items that failed up to that ID.
+     * @return Number of updated rows: 1 if the checkpoint moved, 0 otherwise.
+     */
+    @Modifying
+    @Query("UPDATE ProcessingJobRecord j SET j.checkpointId = :checkpointId, j.processedCount = :processedCount, "
+            + "j.failedCount = :failedCount WHERE j.id = :id AND j.owner = :owner AND j.checkpointId < :checkpointId")
+    int advanceCheckpoint(@Param("id") String id, @Param("owner") String owner, @Param("checkpointId") long checkpointId,
+                          @Param("processedCount") int processedCount, @Param("failedCount") int failedCount);
+
+    /**
+     * Record the final state of a job, unless another instance has taken it over.
+     * Must be called inside a transaction.
+     * @param id The ID of the job.
+     * @param owner The instance that ran the job.
+     * @param status The final state.
+     * @param processedCount The number of processed items.
+     * @param failedCount The number of failed items.
+     * @param finishedAt When the job finished.
+     * @return Number of updated rows.
+     */
+    @Modifying
+    @Query("UPDATE ProcessingJobRecord j SET j.status = :status, j.processedCount = :processedCount, "
+            + "j.failedCount = :failedCount, j.finishedAt = :finishedAt, j.leaseExpiresAt = NULL "
+            + "WHERE j.id = :id AND j.owner = :owner")
+    int finish(@Param("id") String id, @Param("owner") String owner, @Param("status") ProcessingJobStatus status,
+               @Param("processedCount") int processedCount, @Param("failedCount") int failedCount,
+               @Param("finishedAt") Instant finishedAt);
+
+    /**
+     * Extend the lease of a running job, as long as the given instance still owns it.
+     * Must be called inside a transaction.
+     * @param id The ID of the job.
+     * @param owner The instance running the job.
+     * @param leaseExpiresAt The new end of the lease.
+     * @return Number of updated rows: 1 if the lease was extended, 0 if the job is finished or owned by another instance.
+     */
+    @Modifying
+    @Query("UPDATE ProcessingJobRecord j SET j.leaseExpiresAt = :leaseExpiresAt WHERE j.id = :id AND j.owner = :owner "
+            + "AND j.status = com.siemens.internship.ProcessingJobStatus.RUNNING")
+    int renewLease(@Param("id") String id, @Param("owner") String owner, @Param("leaseExpiresAt") Instant leaseExpiresAt);
+
+    /**
+     * Take over a running job whose lease has expired. The condition is checked again on the row once concurrent
+     * takeovers have committed, so at most one instance takes over each job.
+     * Must be called inside a transaction.
+     * @param id The ID of the job.
+     * @param owner The instance taking over the job.
+     * @param now The current time; leases that ended before it have expired.
+     * @param leaseExpiresAt The end of the new lease.
+     * @return Number of updated rows: 1 if the job was taken over, 0 otherwise.
+     */
+    @Modifying
+    @Query("UPDATE ProcessingJobRecord j SET j.owner = :owner, j.leaseExpiresAt = :leaseExpiresAt WHERE j.id = :id "
+            + "AND j.status = com.siemens.internship.ProcessingJobStatus.RUNNING AND (j.leaseExpiresAt IS NULL OR j.leaseExpiresAt < :now)")
+    int takeOver(@Param("id") String id, @Param("owner") String owner, @Param("now") Instant now,
+                 @Param("leaseExpiresAt") Instant leaseExpiresAt);
+}
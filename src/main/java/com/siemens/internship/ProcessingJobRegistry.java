@@ -0,0 +1,66 @@
+package com.siemens.internship;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps track of the processing jobs started on this instance so their progress and results can be polled.
+ * Finished jobs are dropped once they are older than {@code items.processing.jobs.retention}, or when more than
+ * {@code items.processing.jobs.max-retained} finished jobs are kept, so old results do not accumulate on the heap.
+ */
+@Component
+public class ProcessingJobRegistry {
+    private final Map<String, ProcessingJob> jobs = new ConcurrentHashMap<>();
+    private final ItemProcessingProperties properties;
+
+    public ProcessingJobRegistry(ItemProcessingProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Registers a new job, dropping the finished jobs that are no longer retained.
+     * @param job The job to register.
+     * @return The registered job.
+     */
+    public ProcessingJob register(ProcessingJob job) {
+        evictFinishedJobs();
+        jobs.put(job.getId(), job);
+        return job;
+    }
+
+    /**
+     * Finds a job by its ID.
+     * @param id The ID of the job.
+     * @return An Optional containing the job, or empty if no such job exists or it is no longer retained.
+     */
+    public Optional<ProcessingJob> find(String id) {
+        evictFinishedJobs();
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    /**
+     * Drops the finished jobs older than the retention, then the oldest finished jobs above the maximum count.
+     */
+    private void evictFinishedJobs() {
+        ItemProcessingProperties.Jobs retention = properties.getJobs();
+        Instant cutoff = Instant.now().minus(retention.getRetention());
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff));
+
+        if (jobs.size() <= retention.getMaxRetained()) {
+            return;
+        }
+        List<ProcessingJob> finished = jobs.values().stream()
+                .filter(job -> job.getFinishedAt() != null)
+                .sorted(Comparator.comparing(ProcessingJob::getFinishedAt))
+                .toList();
+        for (int i = 0; i < finished.size() - retention.getMaxRetained(); i++) {
+            jobs.remove(finished.get(i).getId());
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.siemens.internship;
+
+/**
+ * Lifecycle states of a {@link ProcessingJob}.
+ */
+public enum ProcessingJobStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
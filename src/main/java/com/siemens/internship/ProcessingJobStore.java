@@ -0,0 +1,106 @@
+package com.siemens.internship;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Saves the state of processing jobs in the {@code processing_job} table, each write in its own short transaction.
+ * Kept separate from the chunk transactions, so a failed checkpoint write never rolls back processed items.
+ *
+ * Every running job is owned by one instance, identified by {@code items.processing.claims.worker-id}, for the
+ * duration of a lease that the owner keeps renewing. Only the owner writes the state of a job, and another instance
+ * only resumes it once the lease has expired.
+ */
+@Component
+public class ProcessingJobStore {
+
+    @Autowired
+    private ProcessingJobRecordRepository jobRecordRepository;
+
+    @Autowired
+    private ItemProcessingProperties processingProperties;
+
+    /**
+     * Saves a job that has just started, owned by this instance.
+     * @param job The job.
+     */
+    @Transactional
+    public void create(ProcessingJob job) {
+        ProcessingJobRecord record = ProcessingJobRecord.of(job);
+        record.setOwner(owner());
+        record.setLeaseExpiresAt(Instant.now().plus(processingProperties.getJobs().getLease()));
+        jobRecordRepository.save(record);
+    }
+
+    /**
+     * Extends the lease of a job this instance runs.
+     * @param job The job.
+     * @return true if the lease was extended; false if the job has finished or another instance has taken it over.
+     */
+    @Transactional
+    public boolean renewLease(ProcessingJob job) {
+        return jobRecordRepository.renewLease(job.getId(), owner(),
+                Instant.now().plus(processingProperties.getJobs().getLease())) > 0;
+    }
+
+    /**
+     * Takes over an unfinished job whose lease has expired, so that this instance can resume it.
+     * @param record The job, as found by {@link #findUnfinished()}.
+     * @return true if this instance now owns the job; false if its owner is still alive or another instance
+     *         took it over first.
+     */
+    @Transactional
+    public boolean takeOver(ProcessingJobRecord record) {
+        Instant now = Instant.now();
+        return jobRecordRepository.takeOver(record.getId(), owner(), now,
+                now.plus(processingProperties.getJobs().getLease())) > 0;
+    }
+
+    /**
+     * Saves the current checkpoint of a job, unless a later one has already been saved.
+     * @param job The job.
+     */
+    @Transactional
+    public void saveCheckpoint(ProcessingJob job) {
+        ProcessingCheckpoint.Snapshot checkpoint = job.getCheckpoint().snapshot();
+        jobRecordRepository.advanceCheckpoint(job.getId(), owner(), checkpoint.idWatermark(),
+                checkpoint.processedCount(), checkpoint.failedCount());
+    }
+
+    /**
+     * Saves the final state and counts of a job.
+     * @param job The finished job.
+     */
+    @Transactional
+    public void finish(ProcessingJob job) {
+        jobRecordRepository.finish(job.getId(), owner(), job.getStatus(), job.getProcessedCount().get(),
+                job.getFailedCount().get(), job.getFinishedAt());
+    }
+
+    /**
+     * @return The jobs that were still running when they were last saved, oldest first; including the jobs still
+     *         owned by a live instance, which {@link #takeOver(ProcessingJobRecord)} refuses.
+     */
+    @Transactional(readOnly = true)
+    public List<ProcessingJobRecord> findUnfinished() {
+        return jobRecordRepository.findByStatusOrderByStartedAt(ProcessingJobStatus.RUNNING);
+    }
+
+    /**
+     * @param id The ID of a job.
+     * @return The job, or empty if it does not exist or is no longer running.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ProcessingJobRecord> findUnfinished(String id) {
+        return jobRecordRepository.findByIdAndStatus(id, ProcessingJobStatus.RUNNING);
+    }
+
+    private String owner() {
+        return processingProperties.getClaims().getWorkerId();
+    }
+}
@@ -0,0 +1,131 @@
+package com.siemens.internship;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * Micrometer instrumentation of item processing.
+ * Records how long chunks and single items take, counts items by outcome and exposes the load of the
+ * {@link ProcessingExecutor}. Timers publish percentile histograms, so tail latency can be computed
+ * from the Prometheus scrape.
+ */
+@Component
+public class ProcessingMetrics {
+    public static final String CHUNK_TIMER = "items.processing.chunk";
+    public static final String ITEM_TIMER = "items.processing.item";
+    public static final String ITEMS_COUNTER = "items.processing.items";
+    public static final String QUEUED_GAUGE = "items.processing.executor.queued";
+    public static final String ACTIVE_GAUGE = "items.processing.executor.active";
+    public static final String PERMIT_WAITERS_GAUGE = "items.processing.executor.permit.waiting";
+    public static final String CONCURRENCY_LIMIT_GAUGE = "items.processing.executor.concurrency.limit";
+
+    /**
+     * Outcome of processing one item, used as the {@code outcome} tag.
+     */
+    public enum Outcome {
+        SUCCESS,
+        FAILURE,
+        NOT_FOUND;
+
+        String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final MeterRegistry registry;
+
+    /**
+     * Creates the metrics and registers the gauges of the processing executor.
+     * @param registry The registry the meters are published to.
+     * @param executor The executor whose queue depth, active tasks and concurrency limit are observed.
+     */
+    public ProcessingMetrics(MeterRegistry registry, ProcessingExecutor executor) {
+        this.registry = registry;
+        Gauge.builder(QUEUED_GAUGE, executor, ProcessingExecutor::getQueuedTasks)
+                .description("Processing tasks submitted but not started yet")
+                .register(registry);
+        Gauge.builder(ACTIVE_GAUGE, executor, ProcessingExecutor::getActiveTasks)
+                .description("Processing tasks currently running")
+                .register(registry);
+        Gauge.builder(PERMIT_WAITERS_GAUGE, executor, ProcessingExecutor::getPermitWaiters)
+                .description("Processing tasks waiting for a database connection permit")
+                .register(registry);
+        Gauge.builder(CONCURRENCY_LIMIT_GAUGE, executor, ProcessingExecutor::getConcurrencyLimit)
+                .description("Processing tasks currently allowed to use the database at once")
+                .register(registry);
+    }
+
+    /**
+     * Starts timing a chunk or an item.
+     * @return The sample to pass to one of the record methods.
+     */
+    public Timer.Sample start() {
+        return Timer.start(registry);
+    }
+
+    /**
+     * Records a chunk that was written.
+     * @param sample The sample started before the chunk.
+     * @param mode How the chunk was written.
+     * @param size Number of IDs in the chunk.
+     * @param processed Number of items actually updated; the rest no longer existed.
+     */
+    public void recordChunk(Timer.Sample sample, ProcessingMode mode, int size, int processed) {
+        sample.stop(chunkTimer(mode, Outcome.SUCCESS));
+        count(mode, Outcome.SUCCESS, processed);
+        count(mode, Outcome.NOT_FOUND, size - processed);
+    }
+
+    /**
+     * Records a chunk whose transaction failed; none of its items were written.
+     * @param sample The sample started before the chunk.
+     * @param mode How the chunk was written.
+     * @param size Number of IDs in the chunk.
+     */
+    public void recordChunkFailure(Timer.Sample sample, ProcessingMode mode, int size) {
+        sample.stop(chunkTimer(mode, Outcome.FAILURE));
+        count(mode, Outcome.FAILURE, size);
+    }
+
+    /**
+     * Records a single item processed on its own.
+     * @param sample The sample started before the item.
+     * @param mode How the item was written.
+     * @param outcome What happened to the item.
+     */
+    public void recordItem(Timer.Sample sample, ProcessingMode mode, Outcome outcome) {
+        sample.stop(Timer.builder(ITEM_TIMER)
+                .description("Time to process a single item, including the wait for a connection permit")
+                .tags("mode", modeTag(mode), "outcome", outcome.tag())
+                .publishPercentileHistogram()
+                .register(registry));
+        count(mode, outcome, 1);
+    }
+
+    private Timer chunkTimer(ProcessingMode mode, Outcome outcome) {
+        return Timer.builder(CHUNK_TIMER)
+                .description("Time to process one chunk of items, including the wait for a connection permit")
+                .tags("mode", modeTag(mode), "outcome", outcome.tag())
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private void count(ProcessingMode mode, Outcome outcome, int items) {
+        if (items > 0) {
+            Counter.builder(ITEMS_COUNTER)
+                    .description("Items processed, by outcome")
+                    .tags("mode", modeTag(mode), "outcome", outcome.tag())
+                    .register(registry)
+                    .increment(items);
+        }
+    }
+
+    private static String modeTag(ProcessingMode mode) {
+        return mode.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,16 @@
+package com.siemens.internship;
+
+/**
+ * Selects how a processing run writes the status of each chunk of items.
+ */
+public enum ProcessingMode {
+    /**
+     * Loads every item as an entity, updates it and merges it back.
+     */
+    HYDRATE,
+
+    /**
+     * Updates the status of a whole ID range with one bulk statement, without loading any entity.
+     */
+    BULK
+}
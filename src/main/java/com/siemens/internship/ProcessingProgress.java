@@ -0,0 +1,19 @@
+package com.siemens.internship;
+
+import java.time.Instant;
+
+/**
+ * Snapshot of the progress of a processing job, as returned by the job API.
+ *
+ * @param jobId      ID of the job
+ * @param mode       How the job writes each chunk
+ * @param status     Current state of the job
+ * @param total      Number of items in the table when the job started
+ * @param processed  Number of items processed so far
+ * @param failed     Number of items in chunks that failed so far
+ * @param startedAt  When the job started
+ * @param finishedAt When the job finished, or {@code null} while it is running
+ */
+public record ProcessingProgress(String jobId, ProcessingMode mode, ProcessingJobStatus status, long total,
+                                 int processed, int failed, Instant startedAt, Instant finishedAt) {
+}
@@ -0,0 +1,72 @@
+package com.siemens.internship;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Periodic progress summary of one processing run, logged instead of one line per item.
+ * Chunks and items report their outcome through {@link #record(int, int)}; at most one INFO line per interval
+ * is written with the items processed so far, the throughput and the failures, whichever thread happens to
+ * report when the interval has elapsed.
+ */
+public class ProcessingProgressLog {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProcessingProgressLog.class);
+
+    private final String run;
+    private final long total;
+    private final long intervalNanos;
+    private final long startedAt = System.nanoTime();
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final AtomicLong nextLogAt;
+
+    /**
+     * Creates the progress log of a run.
+     * @param run Description of the run, used as the prefix of every line.
+     * @param total Number of items the run is expected to process.
+     * @param interval Minimum time between two progress lines.
+     */
+    public ProcessingProgressLog(String run, long total, Duration interval) {
+        this.run = run;
+        this.total = total;
+        this.intervalNanos = interval.toNanos();
+        this.nextLogAt = new AtomicLong(startedAt + intervalNanos);
+    }
+
+    /**
+     * Adds the outcome of a chunk or item and logs a progress line if the interval has elapsed.
+     * @param processedItems Number of items written.
+     * @param failedItems Number of items that failed.
+     */
+    public void record(int processedItems, int failedItems) {
+        processed.add(processedItems);
+        failed.add(failedItems);
+        long now = System.nanoTime();
+        long next = nextLogAt.get();
+        // Only the thread that moves the deadline forward logs, so concurrent chunks write a single line
+        if (now >= next && nextLogAt.compareAndSet(next, now + intervalNanos)) {
+            log("in progress", now);
+        }
+    }
+
+    /**
+     * Logs the final summary of the run.
+     */
+    public void finish() {
+        log("finished", System.nanoTime());
+    }
+
+    private void log(String state, long now) {
+        if (!LOGGER.isInfoEnabled()) {
+            return;
+        }
+        long done = processed.sum();
+        double seconds = Math.max(now - startedAt, 1) / 1_000_000_000.0;
+        LOGGER.info("{} {}: {} of {} items processed ({} items/s), {} failed",
+                run, state, done, total, Math.round(done / seconds), failed.sum());
+    }
+}
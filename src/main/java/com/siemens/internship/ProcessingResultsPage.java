@@ -0,0 +1,17 @@
+package com.siemens.internship;
+
+import java.util.List;
+
+/**
+ * One page of the items processed by a job.
+ *
+ * @param jobId         ID of the job
+ * @param page          Zero-based page number
+ * @param size          Requested page size
+ * @param totalElements Number of processed items the job keeps results for so far
+ * @param truncated     Whether the job has processed more items than it keeps results for
+ * @param items         Items of this page, ordered by ID
+ */
+public record ProcessingResultsPage(String jobId, int page, int size, long totalElements, boolean truncated,
+                                    List<ItemResponse> items) {
+}
@@ -0,0 +1,22 @@
+package com.siemens.internship;
+
+/**
+ * Selects how a processing job divides the items into chunks and hands them to the workers.
+ */
+public enum ProcessingScheduling {
+    /**
+     * Walks the IDs in order and submits one task per chunk to the processing executor.
+     */
+    CHUNKED,
+
+    /**
+     * Splits the ID space into ranges walked on the processing executor; free lanes take the ranges not started yet.
+     */
+    PARTITIONED,
+
+    /**
+     * Claims chunks of pending items in the database before processing them, so several instances
+     * sharing the database each process different items. Always processes pending items only.
+     */
+    CLAIMED
+}
@@ -0,0 +1,15 @@
+package com.siemens.internship;
+
+import java.util.List;
+
+/**
+ * Outcome of a processing run that reports IDs and counts instead of full entities.
+ *
+ * @param processedIds   IDs of the items in the chunks that were written successfully, up to
+ *                       {@code items.processing.jobs.max-result-ids}
+ * @param processedCount Number of rows actually updated; lower than the ID count if items were deleted meanwhile
+ * @param failedCount    Number of items in chunks that failed
+ * @param truncated      Whether more items were processed than IDs are listed
+ */
+public record ProcessingSummary(List<Long> processedIds, int processedCount, int failedCount, boolean truncated) {
+}
@@ -0,0 +1,46 @@
+package com.siemens.internship;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Processor that stands in for a call to an external service, such as an enrichment lookup,
+ * by completing after {@code items.processing.simulated-latency}. Only created when that property is set.
+ *
+ * The delay is a timer, not a sleeping thread, so it shows how waiting processors affect throughput
+ * without tying up the threads of the processing executor. A chunk waits once, as one batch call would.
+ */
+@Component
+@Order(0)
+@ConditionalOnProperty(prefix = "items.processing", name = "simulated-latency")
+public class SimulatedLatencyItemProcessor implements ItemProcessor {
+    private final Executor delayed;
+
+    @Autowired
+    public SimulatedLatencyItemProcessor(ItemProcessingProperties properties) {
+        this(properties.getSimulatedLatency());
+    }
+
+    public SimulatedLatencyItemProcessor(Duration latency) {
+        this.delayed = CompletableFuture.delayedExecutor(latency.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public CompletionStage<Item> process(Item item) {
+        return CompletableFuture.supplyAsync(() -> item, delayed);
+    }
+
+    @Override
+    public CompletionStage<List<Item>> processBatch(List<Item> items) {
+        return CompletableFuture.supplyAsync(() -> items, delayed);
+    }
+}
@@ -0,0 +1,31 @@
+package com.siemens.internship;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Built-in processor that marks items as {@value Item#STATUS_PROCESSED}.
+ * Runs after every other processor and completes immediately, so with no other processors
+ * a chunk is read, processed and written in a single transaction.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class StatusUpdateItemProcessor implements ItemProcessor {
+
+    @Override
+    public CompletionStage<Item> process(Item item) {
+        item.setStatus(Item.STATUS_PROCESSED);
+        return CompletableFuture.completedFuture(item);
+    }
+
+    @Override
+    public CompletionStage<List<Item>> processBatch(List<Item> items) {
+        items.forEach(item -> item.setStatus(Item.STATUS_PROCESSED));
+        return CompletableFuture.completedFuture(items);
+    }
+}
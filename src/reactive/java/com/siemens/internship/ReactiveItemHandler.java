@@ -0,0 +1,122 @@
+package com.siemens.internship;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * WebFlux handlers for the reactive read path.
+ * Every handler returns without waiting: the items are read through {@link ReactiveItemRepository}
+ * and written to the response as they arrive, so a few event-loop threads serve any number of requests.
+ */
+@Component
+@Profile("reactive")
+public class ReactiveItemHandler {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReactiveItemHandler.class);
+
+    @Autowired
+    private ReactiveItemRepository itemRepository;
+
+    @Autowired
+    private ItemProcessingPipeline pipeline;
+
+    @Autowired
+    private ItemProcessingProperties processingProperties;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    /**
+     * Handler to retrieve the ID, name and status of all items, streamed as a JSON array.
+     * @param request The request.
+     * @return Response with the summaries of all items.
+     */
+    public Mono<ServerResponse> getAllItems(ServerRequest request) {
+        LOGGER.debug("GET request received for all items");
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON)
+                .body(itemRepository.findAllSummaries(), ItemSummary.class);
+    }
+
+    /**
+     * Handler to retrieve a specific item by ID.
+     * Served from the item cache shared with the servlet path when possible; the version is returned as the ETag.
+     * @param request The request, with the ID as the {@code id} path variable.
+     * @return Response with the item, 404 if it does not exist, or 400 if the ID is not a number.
+     */
+    public Mono<ServerResponse> getItemById(ServerRequest request) {
+        Long id;
+        try {
+            id = Long.valueOf(request.pathVariable("id"));
+        } catch (NumberFormatException e) {
+            LOGGER.warn("Invalid item id: {}", request.pathVariable("id"));
+            return ServerResponse.badRequest().build();
+        }
+        LOGGER.debug("GET request received for item with id: {}", id);
+
+        Cache cache = cacheManager.getCache(ItemCacheConfig.ITEMS_CACHE);
+        Item cached = cache == null ? null : cache.get(id, Item.class);
+        Mono<Item> item = cached != null ? Mono.just(cached) : itemRepository.findById(id).doOnNext(found -> {
+            if (cache != null) {
+                cache.put(id, found);
+            }
+        });
+        return item
+                .flatMap(found -> withETag(ServerResponse.ok(), found.getVersion()).bodyValue(ItemResponse.from(found)))
+                .switchIfEmpty(ServerResponse.notFound().build());
+    }
+
+    /**
+     * Handler to process the pending items, streaming each processed item as newline-delimited JSON.
+     * Demand flows from the client back to the query: the next chunk is only read from the database and processed
+     * once the previous one has been written to the response, so a slow client pauses processing instead of
+     * filling memory. Items changed by someone else while being processed are skipped and stay pending.
+     * @param request The request.
+     * @return Response streaming the processed items.
+     */
+    public Mono<ServerResponse> processItems(ServerRequest request) {
+        LOGGER.debug("GET request received to stream the processing of pending items");
+        Flux<ItemResponse> processed = itemRepository.findPending()
+                .buffer(processingProperties.getChunkSize())
+                .concatMap(chunk -> Mono.fromCompletionStage(() -> pipeline.processBatch(chunk))
+                        .flatMapMany(this::writeChunk))
+                .map(ItemResponse::from);
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_NDJSON).body(processed, ItemResponse.class);
+    }
+
+    /**
+     * Writes a processed chunk one item at a time, each conditional on the version the item was read at.
+     * @return The items that were written.
+     */
+    private Flux<Item> writeChunk(List<Item> items) {
+        Cache cache = cacheManager.getCache(ItemCacheConfig.ITEMS_CACHE);
+        return Flux.fromIterable(items).concatMap(item -> itemRepository.updateStatus(item).flatMap(written -> {
+            if (!written) {
+                LOGGER.warn("Item {} was changed while being processed, leaving it pending", item.getId());
+                return Mono.<Item>empty();
+            }
+            if (cache != null) {
+                cache.evict(item.getId());
+            }
+            item.setVersion(item.getVersion() + 1);
+            return Mono.just(item);
+        }));
+    }
+
+    /**
+     * Adds the item version as the ETag of a response, if it is known.
+     */
+    private static ServerResponse.BodyBuilder withETag(ServerResponse.BodyBuilder response, Long version) {
+        return version == null ? response : response.eTag("\"" + version + "\"");
+    }
+}
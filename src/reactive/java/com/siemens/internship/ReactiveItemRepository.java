@@ -0,0 +1,83 @@
+package com.siemens.internship;
+
+import io.r2dbc.spi.Readable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking access to the item table through R2DBC, used by the reactive read path.
+ * Reads the same table as {@link ItemRepository}; rows are emitted as they are requested downstream,
+ * so a slow client slows down the query instead of filling memory.
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveItemRepository {
+    private static final String COLUMNS = "id, name, description, status, email, version";
+
+    /**
+     * SQL condition matching the items that still need processing; the same as {@link ItemRepository#PENDING}.
+     */
+    private static final String PENDING = "(status IS NULL OR status <> '" + Item.STATUS_PROCESSED + "')";
+
+    private final DatabaseClient client;
+
+    public ReactiveItemRepository(DatabaseClient client) {
+        this.client = client;
+    }
+
+    /**
+     * Find the ID, name and status of all items.
+     * @return The summaries, ordered by ID.
+     */
+    public Flux<ItemSummary> findAllSummaries() {
+        return client.sql("SELECT id, name, status FROM item ORDER BY id")
+                .map(row -> new ItemSummary(row.get("id", Long.class), row.get("name", String.class), row.get("status", String.class)))
+                .all();
+    }
+
+    /**
+     * Find an item by its ID.
+     * @param id The ID of the item.
+     * @return The item, or empty if it does not exist.
+     */
+    public Mono<Item> findById(Long id) {
+        return client.sql("SELECT " + COLUMNS + " FROM item WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveItemRepository::toItem)
+                .one();
+    }
+
+    /**
+     * Find the items that still need processing.
+     * @return The pending items, ordered by ID.
+     */
+    public Flux<Item> findPending() {
+        return client.sql("SELECT " + COLUMNS + " FROM item WHERE " + PENDING + " ORDER BY id")
+                .map(ReactiveItemRepository::toItem)
+                .all();
+    }
+
+    /**
+     * Writes the status of a processed item, if it is still at the version it was read at.
+     * @param item The processed item.
+     * @return Whether the item was written; false if it was changed or deleted since it was read.
+     */
+    public Mono<Boolean> updateStatus(Item item) {
+        DatabaseClient.GenericExecuteSpec update = client
+                .sql("UPDATE item SET status = :status, version = version + 1 WHERE id = :id AND version = :version")
+                .bind("id", item.getId())
+                .bind("version", item.getVersion());
+        update = item.getStatus() == null ? update.bindNull("status", String.class) : update.bind("status", item.getStatus());
+        return update.fetch().rowsUpdated().map(rows -> rows > 0);
+    }
+
+    private static Item toItem(Readable row) {
+        Item item = new Item(row.get("id", Long.class), row.get("name", String.class), row.get("description", String.class),
+                row.get("status", String.class), row.get("email", String.class));
+        item.setVersion(row.get("version", Long.class));
+        return item;
+    }
+}
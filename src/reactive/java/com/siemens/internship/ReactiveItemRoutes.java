@@ -0,0 +1,29 @@
+package com.siemens.internship;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RequestPredicates;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+/**
+ * Routes of the reactive read path, active with the {@code reactive} profile.
+ * They serve the same URLs as the matching {@link ItemController} endpoints, so one load test can be run
+ * against either build and the results compared directly.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveItemRoutes {
+
+    @Bean
+    public RouterFunction<ServerResponse> itemRoutes(ReactiveItemHandler handler) {
+        return RouterFunctions.route()
+                .GET("/api/items/process", RequestPredicates.accept(MediaType.APPLICATION_NDJSON), handler::processItems)
+                .GET("/api/items/{id}", handler::getItemById)
+                .GET("/api/items", handler::getAllItems)
+                .build();
+    }
+}
@@ -0,0 +1,68 @@
+package com.siemens.internship;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Processes items through a processor that completes 50 ms later, as a call to an external service would.
+ */
+@TestPropertySource(properties = "items.processing.simulated-latency=50ms")
+public class AsyncItemProcessorTest extends IsolatedDatabaseTest {
+    private static final int ITEM_COUNT = 200;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemChunkProcessor chunkProcessor;
+
+    @BeforeEach
+    void setUp() {
+        seedItems(ITEM_COUNT);
+    }
+
+    @Test
+    public void testChunksAreWrittenAfterProcessorsComplete() throws Exception {
+        List<Item> processedItems = itemService.processItemsAsync().get();
+
+        assertEquals(ITEM_COUNT, processedItems.size());
+        assertEquals(0, itemRepository.countPending());
+    }
+
+    @Test
+    public void testPerItemWaitsOverlap() throws Exception {
+        long start = System.nanoTime();
+        List<Item> processedItems = itemService.processItemsPerItemAsync().get();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Unul după altul ar dura 10 s; doar câteva fire ar ajunge la cel puțin 200 × 50 ms / numărul de fire
+        assertEquals(ITEM_COUNT, processedItems.size());
+        assertEquals(0, itemRepository.countPending());
+        assertTrue(elapsedMillis < 2_000, "took " + elapsedMillis + " ms");
+    }
+
+    @Test
+    public void testChangeWhileProcessorsRunFailsTheWrite() {
+        List<Long> ids = itemRepository.findAll().stream().limit(5).map(Item::getId).toList();
+        ProcessedChunk chunk = chunkProcessor.processChunk(ids);
+        assertFalse(chunk.isWritten());
+
+        // Un alt client modifică un item cât timp procesoarele rulează
+        Item changed = itemRepository.findById(ids.get(0)).orElseThrow();
+        changed.setName("Renamed");
+        itemRepository.save(changed);
+
+        List<Item> processed = chunk.pending().join();
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> chunkProcessor.saveProcessedChunk(processed));
+        assertEquals("Renamed", itemRepository.findById(ids.get(0)).orElseThrow().getName());
+        assertEquals(ITEM_COUNT, itemRepository.countPending());
+    }
+}
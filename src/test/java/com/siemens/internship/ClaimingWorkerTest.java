@@ -0,0 +1,175 @@
+package com.siemens.internship;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs two claiming workers, as two instances would, against one database.
+ */
+public class ClaimingWorkerTest extends IsolatedDatabaseTest {
+    private static final int ITEM_COUNT = 2_000;
+    private static final Duration CLAIM_TIMEOUT = Duration.ofMinutes(5);
+
+    @Autowired
+    private ItemChunkProcessor chunkProcessor;
+
+    @Autowired
+    private ItemService itemService;
+
+    private final List<ProcessingExecutor> executors = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        seedItems(ITEM_COUNT);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        for (ProcessingExecutor executor : executors) {
+            executor.destroy();
+        }
+    }
+
+    @Test
+    public void testTwoWorkersProcessEveryItemExactlyOnce() {
+        Queue<Long> processedByA = new ConcurrentLinkedQueue<>();
+        Queue<Long> processedByB = new ConcurrentLinkedQueue<>();
+        // Fiecare worker așteaptă la primul chunk până când și celălalt a revendicat unul, ca să lucreze în paralel
+        CountDownLatch bothClaimed = new CountDownLatch(2);
+
+        CompletableFuture<Integer> workerA = newWorker("node-a").run(4, processClaimed(processedByA, bothClaimed));
+        CompletableFuture<Integer> workerB = newWorker("node-b").run(4, processClaimed(processedByB, bothClaimed));
+        CompletableFuture.allOf(workerA, workerB).join();
+
+        Set<Long> overlap = new HashSet<>(processedByA);
+        overlap.retainAll(processedByB);
+        assertTrue(overlap.isEmpty());
+        assertFalse(processedByA.isEmpty());
+        assertFalse(processedByB.isEmpty());
+        assertEquals(ITEM_COUNT, processedByA.size() + processedByB.size());
+        assertEquals(0, itemRepository.countPending());
+        assertTrue(itemRepository.findAll().stream().allMatch(item -> item.getClaimedBy() == null && item.getClaimToken() == null));
+    }
+
+    @Test
+    public void testExpiredClaimIsTakenOver() {
+        List<Long> ids = itemRepository.findIdsAfter(0L, PageRequest.of(0, ITEM_COUNT));
+        List<Long> abandoned = ids.subList(0, 10);
+        List<Long> heldByLiveNode = ids.subList(10, 20);
+        claimAs("dead-node", abandoned, Instant.now().minus(CLAIM_TIMEOUT).minusSeconds(60));
+        claimAs("live-node", heldByLiveNode, Instant.now());
+
+        Queue<Long> processed = new ConcurrentLinkedQueue<>();
+        newWorker("node-a").run(2, processClaimed(processed, new CountDownLatch(0))).join();
+
+        assertTrue(processed.containsAll(abandoned));
+        assertTrue(processed.stream().noneMatch(heldByLiveNode::contains));
+        assertEquals(ITEM_COUNT - heldByLiveNode.size(), processed.size());
+    }
+
+    @Test
+    public void testTakenOverClaimIsNotWrittenByFormerOwner() {
+        ItemClaim slowClaim = chunkProcessor.claimChunk("slow-node", 5, CLAIM_TIMEOUT);
+        String newToken = claimAs("node-a", slowClaim.ids(), Instant.now());
+
+        assertTrue(chunkProcessor.processClaimedChunk(slowClaim.ids(), slowClaim.token()).written().isEmpty());
+        assertEquals(0, chunkProcessor.markClaimedChunkProcessed(slowClaim.ids(), slowClaim.token()));
+        assertEquals(slowClaim.ids().size(), chunkProcessor.markClaimedChunkProcessed(slowClaim.ids(), newToken));
+    }
+
+    @Test
+    public void testClaimEvictsCachedItems() {
+        Long id = itemRepository.findIdsAfter(0L, PageRequest.of(0, 1)).get(0);
+        Long cachedVersion = itemService.findById(id).orElseThrow().getVersion();
+
+        // Chunk-ul revendicat eșuează înainte de procesare, dar clientul trebuie să vadă versiunea nouă pentru If-Match
+        ItemClaim claim = chunkProcessor.claimChunk("node-a", 1, CLAIM_TIMEOUT);
+        assertEquals(List.of(id), claim.ids());
+
+        Long version = itemService.findById(id).orElseThrow().getVersion();
+        assertNotEquals(cachedVersion, version);
+        assertEquals(itemRepository.findById(id).orElseThrow().getVersion(), version);
+    }
+
+    @Test
+    public void testClaimsUnderSameWorkerIdAreToldApart() {
+        // Două joburi pe aceeași instanță revendică sub același worker ID, eventual în aceeași milisecundă
+        ItemClaim first = chunkProcessor.claimChunk("node-a", 5, CLAIM_TIMEOUT);
+        ItemClaim second = chunkProcessor.claimChunk("node-a", 5, CLAIM_TIMEOUT);
+
+        assertNotEquals(first.token(), second.token());
+        assertTrue(second.ids().stream().noneMatch(first.ids()::contains));
+        assertEquals(0, chunkProcessor.markClaimedChunkProcessed(second.ids(), first.token()));
+        assertEquals(first.ids().size(), chunkProcessor.markClaimedChunkProcessed(first.ids(), first.token()));
+    }
+
+    @Test
+    public void testWorkerCompletesOnSingleThreadPool() {
+        Queue<Long> processed = new ConcurrentLinkedQueue<>();
+
+        // Patru chunk-uri în paralel pe un singur fir: niciun task nu are voie să aștepte altul din aceeași coadă
+        int chunks = newWorker("node-a", 1).run(4, processClaimed(processed, new CountDownLatch(0)))
+                .orTimeout(30, TimeUnit.SECONDS)
+                .join();
+
+        assertEquals(ITEM_COUNT / 100, chunks);
+        assertEquals(ITEM_COUNT, processed.size());
+    }
+
+    private ClaimingWorker newWorker(String workerId) {
+        return newWorker(workerId, 4);
+    }
+
+    private ClaimingWorker newWorker(String workerId, int threads) {
+        ProcessingExecutor executor = new ProcessingExecutor(Executors.newFixedThreadPool(threads), threads, Duration.ofSeconds(5));
+        executors.add(executor);
+        return new ClaimingWorker(workerId, chunkProcessor, executor, 100, CLAIM_TIMEOUT);
+    }
+
+    private Consumer<ItemClaim> processClaimed(Queue<Long> processed, CountDownLatch bothClaimed) {
+        return claim -> {
+            bothClaimed.countDown();
+            try {
+                bothClaimed.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            processed.addAll(chunkProcessor.processClaimedChunk(claim.ids(), claim.token()).written().stream()
+                    .map(Item::getId)
+                    .collect(Collectors.toList()));
+        };
+    }
+
+    private String claimAs(String workerId, List<Long> ids, Instant claimedAt) {
+        String token = UUID.randomUUID().toString();
+        List<Item> items = itemRepository.findAllById(ids);
+        items.forEach(item -> {
+            item.setClaimedBy(workerId);
+            item.setClaimToken(token);
+            item.setClaimedAt(claimedAt);
+        });
+        itemRepository.saveAll(items);
+        return token;
+    }
+}
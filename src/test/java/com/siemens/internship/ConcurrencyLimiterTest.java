@@ -0,0 +1,99 @@
+package com.siemens.internship;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrencyLimiterTest {
+    private static final long FAST = 1_000_000;
+    private static final long SLOW = 20_000_000;
+
+    @Test
+    public void testLatencySpikeLowersLimit() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(2, 10, 2.0, () -> 0);
+        calls(limiter, 50, FAST);
+
+        calls(limiter, 10, SLOW);
+
+        assertTrue(limiter.getLimit() < 10);
+        assertTrue(limiter.getLimit() >= 2);
+    }
+
+    @Test
+    public void testWaitingForPooledConnectionsLowersLimitToMinimum() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(2, 10, 2.0, () -> 3);
+
+        calls(limiter, 200, FAST);
+
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    public void testLimitRecoversOnceLatencyIsSteady() {
+        AtomicInteger poolWaiters = new AtomicInteger(5);
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 10, 2.0, poolWaiters::get);
+        calls(limiter, 100, FAST);
+        assertEquals(1, limiter.getLimit());
+
+        poolWaiters.set(0);
+        calls(limiter, 200, FAST);
+
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    public void testFixedLimitNeverChanges() {
+        ConcurrencyLimiter limiter = ConcurrencyLimiter.fixed(4);
+
+        calls(limiter, 20, FAST);
+        calls(limiter, 20, SLOW);
+
+        assertEquals(4, limiter.getLimit());
+    }
+
+    @Test
+    public void testCallsInFlightNeverExceedLimit() throws Exception {
+        ConcurrencyLimiter limiter = ConcurrencyLimiter.fixed(3);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        var threads = Executors.newVirtualThreadPerTaskExecutor();
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                limiter.acquire();
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep(5);
+                running.decrementAndGet();
+                limiter.release(FAST);
+            }, threads));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+        threads.shutdown();
+
+        assertEquals(3, maxRunning.get());
+        assertEquals(0, limiter.getWaiting());
+    }
+
+    private static void calls(ConcurrencyLimiter limiter, int count, long latencyNanos) {
+        for (int i = 0; i < count; i++) {
+            limiter.acquire();
+            limiter.release(latencyNanos);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
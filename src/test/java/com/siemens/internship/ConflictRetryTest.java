@@ -0,0 +1,54 @@
+package com.siemens.internship;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConflictRetryTest {
+    private final ConflictRetry retry = new ConflictRetry(3, Duration.ofMillis(1), Duration.ofMillis(10));
+
+    @Test
+    public void testAsyncWriteIsRetriedAfterConflict() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = retry.callAsync(() -> attempts.incrementAndGet() < 3
+                ? CompletableFuture.<String>failedFuture(new OptimisticLockingFailureException("Item 1 was changed"))
+                : CompletableFuture.completedFuture("written")).join();
+
+        assertEquals("written", result);
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    public void testAsyncWriteGivesUpAfterMaxAttempts() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        CompletionException e = assertThrows(CompletionException.class, () -> retry.callAsync(() -> {
+            attempts.incrementAndGet();
+            return CompletableFuture.supplyAsync(() -> {
+                throw new OptimisticLockingFailureException("Item 1 was changed");
+            });
+        }).join());
+
+        assertInstanceOf(OptimisticLockingFailureException.class, e.getCause());
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    public void testOtherFailuresAreNotRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(CompletionException.class, () -> retry.callAsync(() -> {
+            attempts.incrementAndGet();
+            return CompletableFuture.failedFuture(new IllegalStateException("Database error"));
+        }).join());
+
+        assertEquals(1, attempts.get());
+    }
+}
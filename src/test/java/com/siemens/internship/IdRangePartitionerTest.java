@@ -0,0 +1,124 @@
+package com.siemens.internship;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class IdRangePartitionerTest {
+    private ItemRepository itemRepository;
+    private ProcessingExecutor executor;
+    private List<Long> ids;
+
+    @BeforeEach
+    void setUp() {
+        itemRepository = mock(ItemRepository.class);
+        executor = new ProcessingExecutor(Executors.newFixedThreadPool(4), 4, Duration.ofSeconds(5));
+        // ID-uri cu goluri, ca într-un tabel din care s-au șters iteme
+        ids = LongStream.rangeClosed(1, 1000).filter(id -> id % 7 != 0).boxed().collect(Collectors.toList());
+        when(itemRepository.findMinId()).thenReturn(ids.get(0));
+        when(itemRepository.findMaxId()).thenReturn(ids.get(ids.size() - 1));
+        when(itemRepository.findIdsInRange(anyLong(), anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            long after = invocation.getArgument(0);
+            long toId = invocation.getArgument(1);
+            Pageable pageable = invocation.getArgument(2);
+            return ids.stream().filter(id -> id > after && id <= toId).limit(pageable.getPageSize()).collect(Collectors.toList());
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        executor.destroy();
+    }
+
+    @Test
+    public void testProcessesEveryIdExactlyOnce() {
+        Queue<Long> processed = new ConcurrentLinkedQueue<>();
+        IdRangePartitioner partitioner = new IdRangePartitioner(itemRepository, executor, false, 50, Duration.ofMillis(1), chunk -> processed.addAll(chunk.ids()));
+
+        partitioner.run(4, ids.size(), 0).join();
+
+        List<Long> sorted = new ArrayList<>(processed);
+        sorted.sort(null);
+        assertEquals(ids, sorted);
+        assertTrue(partitioner.getRangeCount() > 1);
+        verify(itemRepository, never()).findAllIds();
+    }
+
+    @Test
+    public void testCheapItemsAreProcessedInLargerRanges() {
+        IdRangePartitioner partitioner = new IdRangePartitioner(itemRepository, executor, false, 50, Duration.ofMinutes(1), chunk -> { });
+
+        partitioner.run(1, ids.size(), 0).join();
+
+        // Primul interval are dimensiunea unui chunk; după măsurare, restul nu mai este împărțit
+        assertTrue(partitioner.getRangeCount() < ids.size() / 50);
+    }
+
+    @Test
+    public void testEmptyTableProcessesNothing() {
+        when(itemRepository.findMinId()).thenReturn(null);
+        when(itemRepository.findMaxId()).thenReturn(null);
+        Queue<Long> processed = new ConcurrentLinkedQueue<>();
+        IdRangePartitioner partitioner = new IdRangePartitioner(itemRepository, executor, false, 50, Duration.ofMillis(1), chunk -> processed.addAll(chunk.ids()));
+
+        partitioner.run(4, 0, 0).join();
+
+        assertTrue(processed.isEmpty());
+        assertEquals(0, partitioner.getRangeCount());
+    }
+
+    @Test
+    public void testChunksJoinUpIntoCheckpoint() {
+        ProcessingCheckpoint checkpoint = new ProcessingCheckpoint(0, 0, 0);
+        IdRangePartitioner partitioner = new IdRangePartitioner(itemRepository, executor, false, 50, Duration.ofMillis(1),
+                chunk -> checkpoint.complete(chunk, chunk.ids().size(), 0));
+
+        partitioner.run(4, ids.size(), 0).join();
+
+        assertEquals(new ProcessingCheckpoint.Snapshot(1000, ids.size(), 0), checkpoint.snapshot());
+    }
+
+    @Test
+    public void testCompletesOnSingleThreadPool() throws Exception {
+        ProcessingExecutor singleThread = new ProcessingExecutor(Executors.newSingleThreadExecutor(), 1, Duration.ofSeconds(5));
+        Queue<Long> processed = new ConcurrentLinkedQueue<>();
+        IdRangePartitioner partitioner = new IdRangePartitioner(itemRepository, singleThread, false, 50, Duration.ofMillis(1),
+                chunk -> processed.addAll(chunk.ids()));
+
+        try {
+            // Patru intervale în paralel pe un singur fir: rularea nu are voie să țină firul cât așteaptă intervalele
+            partitioner.run(4, ids.size(), 0).get(30, TimeUnit.SECONDS);
+        } finally {
+            singleThread.destroy();
+        }
+
+        assertEquals(ids.size(), processed.size());
+    }
+
+    @Test
+    public void testStartsAfterCheckpoint() {
+        Queue<Long> processed = new ConcurrentLinkedQueue<>();
+        IdRangePartitioner partitioner = new IdRangePartitioner(itemRepository, executor, false, 50, Duration.ofMillis(1),
+                chunk -> processed.addAll(chunk.ids()));
+
+        partitioner.run(4, ids.size(), 500).join();
+
+        assertEquals(ids.stream().filter(id -> id > 500).count(), processed.size());
+        assertTrue(processed.stream().allMatch(id -> id > 500));
+    }
+}
@@ -0,0 +1,44 @@
+package com.siemens.internship;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Base class of the tests that process, claim or count all items, or store processing jobs. Every application context
+ * of these tests runs on its own in-memory database, so they neither see the items left by other tests nor leave
+ * items or running jobs behind for them. Subclasses add their own properties with {@code @TestPropertySource}.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:${random.uuid}")
+public abstract class IsolatedDatabaseTest {
+
+    @Autowired
+    protected ItemRepository itemRepository;
+
+    /**
+     * Replaces the table content with new, unprocessed items named after their index.
+     * @param count Number of items.
+     * @return The saved items.
+     */
+    protected List<Item> seedItems(int count) {
+        return seedItems(count, i -> new Item(null, "Item " + i, "Description " + i, "NEW", "item" + i + "@example.com"));
+    }
+
+    /**
+     * Replaces the table content with the given items.
+     * @param count Number of items.
+     * @param item Creates the item with the given index.
+     * @return The saved items.
+     */
+    protected List<Item> seedItems(int count, IntFunction<Item> item) {
+        itemRepository.deleteAllInBatch();
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(item.apply(i));
+        }
+        return itemRepository.saveAll(items);
+    }
+}
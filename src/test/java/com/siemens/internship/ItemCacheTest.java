@@ -0,0 +1,116 @@
+package com.siemens.internship;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+public class ItemCacheTest {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @SpyBean
+    private ItemRepository itemRepository;
+
+    private Cache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = cacheManager.getCache(ItemCacheConfig.ITEMS_CACHE);
+        cache.clear();
+    }
+
+    @Test
+    public void testFindByIdIsServedFromCache() {
+        Item item = itemService.save(new Item(null, "Item", "Description", "NEW", "item@example.com"));
+        cache.evict(item.getId());
+
+        itemService.findById(item.getId());
+        itemService.findById(item.getId());
+
+        verify(itemRepository, times(1)).findById(item.getId());
+        assertNotNull(cache.get(item.getId()));
+    }
+
+    @Test
+    public void testMissingItemIsNotCached() {
+        assertTrue(itemService.findById(-1L).isEmpty());
+
+        assertNull(cache.get(-1L));
+    }
+
+    @Test
+    public void testSaveRefreshesCachedItem() {
+        Item item = itemService.save(new Item(null, "Item", "Description", "NEW", "item@example.com"));
+        item.setName("Renamed");
+        itemService.save(item);
+
+        assertEquals("Renamed", itemService.findById(item.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    public void testDeleteEvictsItem() {
+        Item item = itemService.save(new Item(null, "Item", "Description", "NEW", "item@example.com"));
+        itemService.findById(item.getId());
+
+        itemService.deleteById(item.getId());
+
+        assertNull(cache.get(item.getId()));
+        assertTrue(itemService.findById(item.getId()).isEmpty());
+    }
+
+    @Test
+    public void testUpdateEvictsItemOnlyOnceCommitted() {
+        Item item = itemService.save(new Item(null, "Item", "Description", "NEW", "item@example.com"));
+        itemService.findById(item.getId());
+        Item changed = new Item(null, "Renamed", "Description", "NEW", "item@example.com");
+
+        // O citire înainte de commit ar pune din nou în cache versiunea veche, deci evicția așteaptă commit-ul
+        transactionTemplate.executeWithoutResult(status -> {
+            itemService.update(item.getId(), changed, null);
+            assertNotNull(cache.get(item.getId()));
+        });
+
+        assertNull(cache.get(item.getId()));
+        assertEquals("Renamed", itemService.findById(item.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    public void testRolledBackDeleteKeepsItemCached() {
+        Item item = itemService.save(new Item(null, "Item", "Description", "NEW", "item@example.com"));
+        itemService.findById(item.getId());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            itemService.deleteIfExists(item.getId(), null);
+            status.setRollbackOnly();
+        });
+
+        assertNotNull(cache.get(item.getId()));
+        assertTrue(itemRepository.findById(item.getId()).isPresent());
+    }
+
+    @Test
+    public void testProcessingEvictsStaleStatus() throws Exception {
+        Item item = itemService.save(new Item(null, "Item", "Description", "NEW", "item@example.com"));
+        itemService.findById(item.getId());
+
+        itemService.processItemIdsAsync(ProcessingMode.BULK).get();
+
+        assertEquals(Item.STATUS_PROCESSED, itemService.findById(item.getId()).orElseThrow().getStatus());
+    }
+}
@@ -12,12 +12,23 @@ import org.mockito.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
 
 @SpringBootTest
 class ItemControllerTest {
@@ -39,26 +50,77 @@ class ItemControllerTest {
 
     @Test
     void testGetAllItems() {
-        when(itemService.findAll()).thenReturn(mockItems);
+        when(itemService.findAllSummaries()).thenReturn(List.of(new ItemSummary(1L, "Item 1", "NEW")));
 
-        ResponseEntity<List<Item>> response = itemController.getAllItems();
+        ResponseEntity<List<ItemSummary>> response = itemController.getAllItems();
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals(1, response.getBody().size());
-        verify(itemService, times(1)).findAll();
+        verify(itemService, times(1)).findAllSummaries();
+        verify(itemService, never()).findAll();
     }
 
 
+    @Test
+    void testGetItemPage() {
+        ItemPage page = new ItemPage(List.of(ItemResponse.from(mockItem)), 1L);
+        when(itemService.findPage(0L, 1)).thenReturn(page);
+
+        ResponseEntity<ItemPage> response = itemController.getItemPage(0L, 1);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(page, response.getBody());
+        verify(itemService, times(1)).findPage(0L, 1);
+    }
+
+    @Test
+    void testGetItemPageWithInvalidLimit() {
+        ResponseEntity<ItemPage> response = itemController.getItemPage(0L, 5000);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verify(itemService, never()).findPage(anyLong(), anyInt());
+    }
+
+    @Test
+    void testGetItemPageByStatus() {
+        ItemPage page = new ItemPage(List.of(ItemResponse.from(mockItem)), null);
+        when(itemService.findPage("NEW", null, 0L, 100)).thenReturn(page);
+
+        ResponseEntity<ItemPage> response = itemController.getItemPageByStatus("NEW", null, 0L, 100);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(page, response.getBody());
+    }
+
+    @Test
+    void testGetItemPageByEmailWithInvalidLimit() {
+        ResponseEntity<ItemPage> response = itemController.getItemPageByEmail("email1@example.com", 0L, 0);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verify(itemService, never()).findPage(any(), any(), anyLong(), anyInt());
+    }
+
+    @Test
+    void testGetItemStats() {
+        ItemStats stats = new ItemStats(3, List.of(new ItemStatusCount("NEW", 2), new ItemStatusCount("PROCESSED", 1)));
+        when(itemService.getStats()).thenReturn(stats);
+
+        ResponseEntity<ItemStats> response = itemController.getItemStats();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(stats, response.getBody());
+    }
+
     @Test
     void testGetItemById() {
         when(itemService.findById(1L)).thenReturn(Optional.of(mockItem));
 
-        ResponseEntity<Item> response = itemController.getItemById(1L);
+        ResponseEntity<ItemResponse> response = itemController.getItemById(1L);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertEquals("Item 1", response.getBody().getName());
+        assertEquals("Item 1", response.getBody().name());
         verify(itemService, times(1)).findById(1L);
     }
 
@@ -66,7 +128,7 @@ class ItemControllerTest {
     void testGetItemByIdNotFound() {
         when(itemService.findById(1L)).thenReturn(Optional.empty());
 
-        ResponseEntity<Item> response = itemController.getItemById(1L);
+        ResponseEntity<ItemResponse> response = itemController.getItemById(1L);
 
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
         verify(itemService, times(1)).findById(1L);
@@ -74,74 +136,320 @@ class ItemControllerTest {
 
     @Test
     void testUpdateItem() {
-        when(itemService.findById(1L)).thenReturn(Optional.of(mockItem));
-        when(itemService.save(any(Item.class))).thenReturn(mockItem);
+        when(itemService.update(1L, mockItem, null)).thenReturn(Optional.of(mockItem));
 
-        ResponseEntity<Item> response = itemController.updateItem(1L, mockItem);
+        ResponseEntity<ItemResponse> response = itemController.updateItem(1L, null, mockItem, new BeanPropertyBindingResult(mockItem, "item"));
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertEquals("Item 1", response.getBody().getName());
-        verify(itemService, times(1)).findById(1L);
-        verify(itemService, times(1)).save(any(Item.class));
+        assertEquals("Item 1", response.getBody().name());
+        verify(itemService, times(1)).update(1L, mockItem, null);
+        verify(itemService, never()).findById(anyLong()); // Update-ul nu mai citeste itemul inainte
     }
 
     @Test
     void testUpdateItemNotFound() {
-        when(itemService.findById(1L)).thenReturn(Optional.empty());
+        when(itemService.update(1L, mockItem, null)).thenReturn(Optional.empty());
 
-        ResponseEntity<Item> response = itemController.updateItem(1L, mockItem);
+        ResponseEntity<ItemResponse> response = itemController.updateItem(1L, null, mockItem, new BeanPropertyBindingResult(mockItem, "item"));
 
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
-        verify(itemService, times(1)).findById(1L);
+        verify(itemService, times(1)).update(1L, mockItem, null);
         verify(itemService, times(0)).save(any(Item.class)); // Verificăm că nu s-a apelat metoda save
     }
 
     @Test
-    void testDeleteItem() {
+    void testUpdateItemWithValidationErrors() {
+        BindingResult result = new BeanPropertyBindingResult(mockItem, "item");
+        result.rejectValue("email", "Email", "Please provide a valid email address");
+
+        ResponseEntity<ItemResponse> response = itemController.updateItem(1L, null, mockItem, result);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verify(itemService, never()).update(anyLong(), any(Item.class), any());
+    }
+
+    @Test
+    void testGetItemByIdReturnsVersionAsETag() {
+        mockItem.setVersion(3L);
         when(itemService.findById(1L)).thenReturn(Optional.of(mockItem));
-        doNothing().when(itemService).deleteById(1L);
 
-        ResponseEntity<Void> response = itemController.deleteItem(1L);
+        ResponseEntity<ItemResponse> response = itemController.getItemById(1L);
+
+        assertEquals("\"3\"", response.getHeaders().getETag());
+    }
+
+    @Test
+    void testConditionalUpdateItem() {
+        Item updated = new Item(1L, "Item 1", "Description 1", "NEW", "email1@example.com");
+        updated.setVersion(4L);
+        when(itemService.update(1L, mockItem, 3L)).thenReturn(Optional.of(updated));
+
+        ResponseEntity<ItemResponse> response = itemController.updateItem(1L, "\"3\"", mockItem, new BeanPropertyBindingResult(mockItem, "item"));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"4\"", response.getHeaders().getETag());
+    }
+
+    @Test
+    void testConditionalUpdateOfChangedItemFailsPrecondition() {
+        when(itemService.update(1L, mockItem, 3L)).thenThrow(new OptimisticLockingFailureException("Item 1 is no longer at version 3"));
+
+        ResponseEntity<ItemResponse> response = itemController.updateItem(1L, "\"3\"", mockItem, new BeanPropertyBindingResult(mockItem, "item"));
+
+        assertEquals(HttpStatus.PRECONDITION_FAILED, response.getStatusCode());
+    }
+
+    @Test
+    void testUpdateWithForeignETagMatchesNoVersion() {
+        when(itemService.update(eq(1L), eq(mockItem), anyLong())).thenThrow(new OptimisticLockingFailureException("Item 1 is no longer at version -1"));
+
+        // Un ETag slab sau care nu e o versiune nu se potrivește cu nicio versiune a itemului
+        ResponseEntity<ItemResponse> response = itemController.updateItem(1L, "W/\"3\"", mockItem, new BeanPropertyBindingResult(mockItem, "item"));
+
+        assertEquals(HttpStatus.PRECONDITION_FAILED, response.getStatusCode());
+        verify(itemService).update(1L, mockItem, -1L);
+    }
+
+    @Test
+    void testUpdateWithWildcardIfMatchIsUnconditional() {
+        when(itemService.update(1L, mockItem, null)).thenReturn(Optional.of(mockItem));
+
+        ResponseEntity<ItemResponse> response = itemController.updateItem(1L, "*", mockItem, new BeanPropertyBindingResult(mockItem, "item"));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNull(response.getHeaders().getETag());
+    }
+
+    @Test
+    void testConditionalDeleteOfChangedItemFailsPrecondition() {
+        when(itemService.deleteIfExists(1L, 3L)).thenThrow(new OptimisticLockingFailureException("Item 1 is no longer at version 3"));
+
+        ResponseEntity<Void> response = itemController.deleteItem(1L, "\"3\"");
+
+        assertEquals(HttpStatus.PRECONDITION_FAILED, response.getStatusCode());
+    }
+
+    @Test
+    void testDeleteItem() {
+        when(itemService.deleteIfExists(1L, null)).thenReturn(true);
+
+        ResponseEntity<Void> response = itemController.deleteItem(1L, null);
 
         assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
-        verify(itemService, times(1)).findById(1L);
-        verify(itemService, times(1)).deleteById(1L);
+        verify(itemService, times(1)).deleteIfExists(1L, null);
+        verify(itemService, never()).findById(anyLong());
     }
 
     @Test
     void testDeleteItemNotFound() {
-        when(itemService.findById(1L)).thenReturn(Optional.empty());
+        when(itemService.deleteIfExists(1L, null)).thenReturn(false);
 
-        ResponseEntity<Void> response = itemController.deleteItem(1L);
+        ResponseEntity<Void> response = itemController.deleteItem(1L, null);
 
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
-        verify(itemService, times(1)).findById(1L);
-        verify(itemService, times(0)).deleteById(1L); // Verificăm că nu s-a apelat metoda deleteById
+        verify(itemService, times(1)).deleteIfExists(1L, null);
     }
 
     @Test
     void testProcessItems() throws Exception {
-        when(itemService.processItemsAsync()).thenReturn(CompletableFuture.completedFuture(mockItems));
+        when(itemService.processItemsAsync(false)).thenReturn(CompletableFuture.completedFuture(mockItems));
 
-        ResponseEntity<List<Item>> response = itemController.processItems();
+        ResponseEntity<List<ItemResponse>> response = itemController.processItems(false).get();
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals(1, response.getBody().size());
-        verify(itemService, times(1)).processItemsAsync();
+        verify(itemService, times(1)).processItemsAsync(false);
     }
 
     @Test
     void testProcessItemsWithError() throws Exception {
-        // Arrange: Mocking the service to throw ExecutionException using doThrow
-        doThrow(new ExecutionException("Error", new Throwable())).when(itemService).processItemsAsync();
+        // Arrange: the processing future completes exceptionally
+        when(itemService.processItemsAsync(false))
+                .thenReturn(CompletableFuture.failedFuture(new ExecutionException("Error", new Throwable())));
 
-        // Act: Call the controller method
-        ResponseEntity<List<Item>> response = itemController.processItems();
+        // Act: Call the controller method and wait for the asynchronous response
+        ResponseEntity<List<ItemResponse>> response = itemController.processItems(false).get();
 
         // Assert: Verify that the response returns an INTERNAL_SERVER_ERROR status code
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
     }
 
+    @Test
+    void testProcessItemIdsInBulkMode() throws Exception {
+        ProcessingSummary summary = new ProcessingSummary(List.of(1L), 1, 0, false);
+        when(itemService.processItemIdsAsync(ProcessingMode.BULK, ProcessingScheduling.CHUNKED, false)).thenReturn(CompletableFuture.completedFuture(summary));
+
+        ResponseEntity<ProcessingSummary> response = itemController.processItemIds(ProcessingMode.BULK, false).get();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(summary, response.getBody());
+        verify(itemService, times(1)).processItemIdsAsync(ProcessingMode.BULK, ProcessingScheduling.CHUNKED, false);
+    }
+
+    @Test
+    void testProcessItemIdsWithError() throws Exception {
+        when(itemService.processItemIdsAsync(ProcessingMode.HYDRATE, ProcessingScheduling.CHUNKED, false))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Database error")));
+
+        ResponseEntity<ProcessingSummary> response = itemController.processItemIds(ProcessingMode.HYDRATE, false).get();
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+    }
+
+    @Test
+    void testStartProcessing() {
+        ProcessingJob job = new ProcessingJob(ProcessingMode.BULK, 5);
+        when(itemService.startProcessing(ProcessingMode.BULK, ProcessingScheduling.CHUNKED, false)).thenReturn(job);
+
+        ResponseEntity<ProcessingProgress> response = itemController.startProcessing(ProcessingMode.BULK, ProcessingScheduling.CHUNKED, false);
+
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertEquals("/api/items/process/" + job.getId(), response.getHeaders().getLocation().toString());
+        assertEquals(job.getId(), response.getBody().jobId());
+        assertEquals(5, response.getBody().total());
+        assertEquals(ProcessingJobStatus.RUNNING, response.getBody().status());
+    }
+
+    @Test
+    void testGetProcessingProgress() {
+        ProcessingJob job = new ProcessingJob(ProcessingMode.HYDRATE, 3);
+        job.recordProcessed(List.of(1L, 2L), 2);
+        job.recordFailed(1);
+        when(itemService.findJob(job.getId())).thenReturn(Optional.of(job));
+
+        ResponseEntity<ProcessingProgress> response = itemController.getProcessingProgress(job.getId());
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(2, response.getBody().processed());
+        assertEquals(1, response.getBody().failed());
+        assertEquals(3, response.getBody().total());
+    }
+
+    @Test
+    void testGetProcessingProgressNotFound() {
+        when(itemService.findJob("missing")).thenReturn(Optional.empty());
+
+        ResponseEntity<ProcessingProgress> response = itemController.getProcessingProgress("missing");
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    void testGetProcessingResults() {
+        ProcessingJob job = new ProcessingJob(ProcessingMode.HYDRATE, 1);
+        ProcessingResultsPage page = new ProcessingResultsPage(job.getId(), 0, 10, 1, false, List.of(ItemResponse.from(mockItem)));
+        when(itemService.findJob(job.getId())).thenReturn(Optional.of(job));
+        when(itemService.findProcessedItems(job, 0, 10)).thenReturn(page);
+
+        ResponseEntity<ProcessingResultsPage> response = itemController.getProcessingResults(job.getId(), 0, 10);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(page, response.getBody());
+    }
+
+    @Test
+    void testGetProcessingResultsWithInvalidPageSize() {
+        ResponseEntity<ProcessingResultsPage> response = itemController.getProcessingResults("job", 0, 0);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verify(itemService, never()).findJob(anyString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testStreamAllItems() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<Item> consumer = invocation.getArgument(0);
+            mockItems.forEach(consumer);
+            return null;
+        }).when(itemService).streamAll(any());
+
+        ResponseEntity<StreamingResponseBody> response = itemController.streamAllItems();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(1, lines.length);
+        assertTrue(lines[0].contains("\"name\":\"Item 1\""));
+    }
+
+    @Test
+    void testStreamProcessingResultsNotFound() {
+        when(itemService.findJob("missing")).thenReturn(Optional.empty());
+
+        ResponseEntity<StreamingResponseBody> response = itemController.streamProcessingResults("missing");
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCreateItemsFromJsonArray() {
+        BulkResult result = new BulkResult(1, 0, List.of(BulkItemResult.of(0, 1L, BulkItemOutcome.CREATED)));
+        List<Item> received = new ArrayList<>();
+        when(itemService.createAll(any())).thenAnswer(invocation -> {
+            ((Iterator<Item>) invocation.getArgument(0)).forEachRemaining(received::add);
+            return result;
+        });
+
+        ResponseEntity<BulkResult> response = itemController.createItems(body(
+                "[{\"name\":\"Item 1\",\"email\":\"email1@example.com\"},{\"name\":\"Item 2\",\"email\":\"email2@example.com\"}]"));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(result, response.getBody());
+        assertEquals(2, received.size());
+        assertEquals("Item 2", received.get(1).getName());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testUpdateItemsFromNdjson() {
+        List<Item> received = new ArrayList<>();
+        when(itemService.updateAll(any())).thenAnswer(invocation -> {
+            ((Iterator<Item>) invocation.getArgument(0)).forEachRemaining(received::add);
+            return new BulkResult(2, 0, List.of());
+        });
+
+        ResponseEntity<BulkResult> response = itemController.updateItems(body(
+                "{\"id\":1,\"name\":\"Item 1\"}\n{\"id\":2,\"name\":\"Item 2\"}\n"));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(1L, 2L), received.stream().map(Item::getId).toList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testDeleteItems() {
+        List<Long> received = new ArrayList<>();
+        when(itemService.deleteAll(any())).thenAnswer(invocation -> {
+            ((Iterator<Long>) invocation.getArgument(0)).forEachRemaining(received::add);
+            return new BulkResult(3, 0, List.of());
+        });
+
+        ResponseEntity<BulkResult> response = itemController.deleteItems(body("[1, 2, 3]"));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(1L, 2L, 3L), received);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCreateItemsWithMalformedBody() {
+        when(itemService.createAll(any())).thenAnswer(invocation -> {
+            ((Iterator<Item>) invocation.getArgument(0)).forEachRemaining(item -> { });
+            return new BulkResult(0, 0, List.of());
+        });
+
+        ResponseEntity<BulkResult> response = itemController.createItems(body("[{\"name\":\"Item 1\"}, {\"name\":"));
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    private static InputStream body(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
 }
@@ -0,0 +1,118 @@
+package com.siemens.internship;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts the SQL statements run by the update and delete endpoints, comparing the former
+ * find-then-write sequence with the single-statement service operations, and compares
+ * bulk creation with one create per item.
+ * The "before" numbers come from replaying the former sequence by hand with the same repository
+ * calls, not from running the old production code, which no longer exists in this tree.
+ * Excluded from the default build; run it with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ItemCrudBenchmarkTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ItemCrudBenchmarkTest.class);
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void countStatementsPerUpdate() {
+        Long id = newItem().getId();
+        Item changes = new Item(null, "Updated", "Description", "NEW", "updated@example.com");
+
+        long before = countStatements(() -> {
+            Item existing = itemRepository.findById(id).orElseThrow();
+            changes.setId(id);
+            changes.setVersion(existing.getVersion());
+            itemRepository.save(changes);
+        });
+        long after = countStatements(() -> itemService.update(id, changes, null));
+        long missing = countStatements(() -> itemService.update(-1L, changes, null));
+
+        LOGGER.info("PUT /api/items/{id}: {} statements before, {} after ({} when not found)", before, after, missing);
+        assertEquals(1, after);
+        assertTrue(after < before);
+    }
+
+    @Test
+    void countStatementsPerDelete() {
+        Long firstId = newItem().getId();
+        Long secondId = newItem().getId();
+
+        long before = countStatements(() -> {
+            itemRepository.findById(firstId).orElseThrow();
+            itemRepository.deleteById(firstId);
+        });
+        long after = countStatements(() -> itemService.deleteIfExists(secondId, null));
+        long missing = countStatements(() -> itemService.deleteIfExists(-1L, null));
+
+        LOGGER.info("DELETE /api/items/{id}: {} statements before, {} after ({} when not found)", before, after, missing);
+        assertEquals(1, after);
+        assertTrue(after < before);
+    }
+
+    @Test
+    void compareBulkCreateWithSingleCreates() {
+        int count = 2_000;
+        long start = System.nanoTime();
+        long single = countStatements(() -> newItems(count).forEachRemaining(itemService::save));
+        long singleMillis = (System.nanoTime() - start) / 1_000_000;
+
+        start = System.nanoTime();
+        long bulk = countStatements(() -> assertEquals(count, itemService.createAll(newItems(count)).succeeded()));
+        long bulkMillis = (System.nanoTime() - start) / 1_000_000;
+
+        LOGGER.info("{} single creates: {} statements in {} ms", count, single, singleMillis);
+        LOGGER.info("bulk create:        {} statements in {} ms", bulk, bulkMillis);
+        assertTrue(bulk < single);
+    }
+
+    private Iterator<Item> newItems(int count) {
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(new Item(null, "Item " + i, "Description " + i, "NEW", "item" + i + "@example.com"));
+        }
+        return items.iterator();
+    }
+
+    private Item newItem() {
+        return itemRepository.save(new Item(null, "Item", "Description", "NEW", "item@example.com"));
+    }
+
+    private long countStatements(Runnable operation) {
+        statistics.clear();
+        operation.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,107 @@
+package com.siemens.internship;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.NestedTestConfiguration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures bulk insert throughput into H2 with one sequence call per row (allocation size 1, how a
+ * non-pooled sequence behaves) and with the pooled allocation used by {@link ItemIdGenerator}.
+ * Excluded from the default build; run it with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class ItemInsertBenchmarkTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ItemInsertBenchmarkTest.class);
+
+    private static final int ITEM_COUNT = 20_000;
+    private static final String STATISTICS = "spring.jpa.properties.hibernate.generate_statistics=true";
+    private static final String ALLOCATION_SIZE = "spring.jpa.properties." + ItemIdGenerator.ALLOCATION_SIZE_SETTING;
+    private static final String DATABASE = "spring.datasource.url=jdbc:h2:mem:";
+
+    @Nested
+    @NestedTestConfiguration(NestedTestConfiguration.EnclosingConfiguration.OVERRIDE)
+    @SpringBootTest(properties = {STATISTICS, ALLOCATION_SIZE + "=1", DATABASE + "per-row-sequence"})
+    class PerRowSequence extends InsertBenchmark {
+        @Test
+        void insertItems() {
+            Measurement measurement = measure();
+            LOGGER.info("allocation size 1:  {}", measurement);
+            assertEquals(ITEM_COUNT, measurement.sequenceCalls);
+        }
+    }
+
+    @Nested
+    @NestedTestConfiguration(NestedTestConfiguration.EnclosingConfiguration.OVERRIDE)
+    @SpringBootTest(properties = {STATISTICS, ALLOCATION_SIZE + "=50", DATABASE + "pooled-sequence"})
+    class PooledSequence extends InsertBenchmark {
+        @Test
+        void insertItems() {
+            Measurement measurement = measure();
+            LOGGER.info("allocation size 50: {}", measurement);
+            assertTrue(measurement.sequenceCalls <= ITEM_COUNT / 50 + 1);
+        }
+    }
+
+    abstract static class InsertBenchmark {
+        @Autowired
+        private ItemService itemService;
+
+        @Autowired
+        private ItemRepository itemRepository;
+
+        @Autowired
+        private ItemProcessingProperties processingProperties;
+
+        @Autowired
+        private EntityManagerFactory entityManagerFactory;
+
+        Measurement measure() {
+            // Warm-up run, so both configurations are measured with the same JIT state
+            insertItems();
+            return insertItems();
+        }
+
+        private Measurement insertItems() {
+            itemRepository.deleteAllInBatch();
+            List<Item> items = new ArrayList<>(ITEM_COUNT);
+            for (int i = 0; i < ITEM_COUNT; i++) {
+                items.add(new Item(null, "Item " + i, "Description " + i, "NEW", "item" + i + "@example.com"));
+            }
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+
+            long start = System.nanoTime();
+            BulkResult result = itemService.createAll(items.iterator());
+            long millis = Math.max((System.nanoTime() - start) / 1_000_000, 1);
+
+            assertEquals(ITEM_COUNT, result.succeeded());
+            // Each chunk prepares its INSERT once and reuses it for all of its JDBC batches;
+            // every other prepared statement is a sequence call
+            long statements = statistics.getPrepareStatementCount();
+            int chunkSize = processingProperties.getChunkSize();
+            long insertStatements = (ITEM_COUNT + chunkSize - 1) / chunkSize;
+            return new Measurement(millis, statements, statements - insertStatements);
+        }
+    }
+
+    record Measurement(long millis, long statements, long sequenceCalls) {
+        @Override
+        public String toString() {
+            return String.format("%d items in %d ms (%.0f items/s), %d statements, %d sequence calls",
+                    ITEM_COUNT, millis, ITEM_COUNT * 1000.0 / millis, statements, sequenceCalls);
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package com.siemens.internship;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the chunked processing pipeline with the per-item path on the in-memory H2 database.
+ * Excluded from the default build; run it with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+// Statistics are read through the API; their per-session log report would dominate the measured logging cost
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+class ItemProcessingBenchmarkTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ItemProcessingBenchmarkTest.class);
+
+    private static final int ITEM_COUNT = 2_000;
+    private static final int LOAD_TEST_ITEM_COUNT = 10_000;
+    private static final Duration BLOCKING_CALL_LATENCY = Duration.ofMillis(20);
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        seedItems(ITEM_COUNT);
+    }
+
+    @Test
+    void compareChunkedWithPerItemProcessing() throws Exception {
+        Measurement perItem = measure(() -> itemService.processItemsPerItemAsync().get().size());
+        seedItems(ITEM_COUNT);
+        Measurement chunked = measure(() -> itemService.processItemsAsync().get().size());
+
+        LOGGER.info("per-item: {} items in {} ms ({} items/s), {} JDBC statements",
+                perItem.items, perItem.millis, Math.round(perItem.throughput()), perItem.statements);
+        LOGGER.info("chunked:  {} items in {} ms ({} items/s), {} JDBC statements",
+                chunked.items, chunked.millis, Math.round(chunked.throughput()), chunked.statements);
+
+        assertEquals(ITEM_COUNT, chunked.items);
+        assertTrue(chunked.statements < perItem.statements);
+    }
+
+    @Test
+    void compareBulkUpdateWithHydratingProcessing() throws Exception {
+        Measurement hydrate = measure(() -> itemService.processItemIdsAsync(ProcessingMode.HYDRATE).get().processedCount());
+        seedItems(ITEM_COUNT);
+        Measurement bulk = measure(() -> itemService.processItemIdsAsync(ProcessingMode.BULK).get().processedCount());
+
+        LOGGER.info("hydrate: {} items in {} ms ({} items/s), {} JDBC statements, {} entities loaded",
+                hydrate.items, hydrate.millis, Math.round(hydrate.throughput()), hydrate.statements, hydrate.entitiesLoaded);
+        LOGGER.info("bulk:    {} items in {} ms ({} items/s), {} JDBC statements, {} entities loaded",
+                bulk.items, bulk.millis, Math.round(bulk.throughput()), bulk.statements, bulk.entitiesLoaded);
+
+        assertEquals(ITEM_COUNT, bulk.items);
+        assertEquals(0, bulk.entitiesLoaded);
+        assertEquals(ITEM_COUNT, itemRepository.findAll().stream()
+                .filter(item -> Item.STATUS_PROCESSED.equals(item.getStatus())).count());
+    }
+
+    @Test
+    void comparePartitionedWithChunkedProcessing() throws Exception {
+        seedItems(LOAD_TEST_ITEM_COUNT);
+        Measurement chunked = measure(() -> itemService.processItemIdsAsync(ProcessingMode.HYDRATE, ProcessingScheduling.CHUNKED, false).get().processedCount());
+        seedItems(LOAD_TEST_ITEM_COUNT);
+        Measurement partitioned = measure(() -> itemService.processItemIdsAsync(ProcessingMode.HYDRATE, ProcessingScheduling.PARTITIONED, false).get().processedCount());
+
+        LOGGER.info("chunked:     {} items in {} ms ({} items/s), {} JDBC statements",
+                chunked.items, chunked.millis, Math.round(chunked.throughput()), chunked.statements);
+        LOGGER.info("partitioned: {} items in {} ms ({} items/s), {} JDBC statements",
+                partitioned.items, partitioned.millis, Math.round(partitioned.throughput()), partitioned.statements);
+
+        assertEquals(LOAD_TEST_ITEM_COUNT, partitioned.items);
+    }
+
+    @Test
+    void compareIncrementalWithFullRepeatRun() throws Exception {
+        int newItems = LOAD_TEST_ITEM_COUNT / 100;
+        seedItems(LOAD_TEST_ITEM_COUNT);
+        itemService.processItemIdsAsync(ProcessingMode.HYDRATE).get();
+        addItems(newItems);
+        Measurement full = measure(() -> itemService.processItemIdsAsync(ProcessingMode.HYDRATE, ProcessingScheduling.CHUNKED, false).get().processedCount());
+
+        seedItems(LOAD_TEST_ITEM_COUNT);
+        itemService.processItemIdsAsync(ProcessingMode.HYDRATE).get();
+        addItems(newItems);
+        Measurement incremental = measure(() -> itemService.processItemIdsAsync(ProcessingMode.HYDRATE, ProcessingScheduling.CHUNKED, true).get().processedCount());
+
+        LOGGER.info("full repeat run:        {} items in {} ms, {} JDBC statements, {} entities loaded",
+                full.items, full.millis, full.statements, full.entitiesLoaded);
+        LOGGER.info("incremental repeat run: {} items in {} ms, {} JDBC statements, {} entities loaded",
+                incremental.items, incremental.millis, incremental.statements, incremental.entitiesLoaded);
+
+        assertEquals(newItems, incremental.items);
+        assertEquals(newItems, incremental.entitiesLoaded);
+    }
+
+    @Test
+    void comparePlatformWithVirtualThreadsOnPerItemProcessing() throws Exception {
+        ItemService target = AopTestUtils.getTargetObject(itemService);
+        Object configuredExecutor = ReflectionTestUtils.getField(target, "executor");
+        Object configuredPipeline = ReflectionTestUtils.getField(target, "pipeline");
+        // Procesoarele nu mai blochează, deci fără un apel blocant firele virtuale nu ar avea ce câștiga
+        ReflectionTestUtils.setField(target, "pipeline", withBlockingCall((ItemProcessingPipeline) configuredPipeline));
+        ProcessingExecutor platform = new ProcessingExecutor(Executors.newFixedThreadPool(10), 10, Duration.ofSeconds(30));
+        ProcessingExecutor virtual = new ProcessingExecutor(Executors.newVirtualThreadPerTaskExecutor(), 10, Duration.ofSeconds(30));
+        try {
+            seedItems(LOAD_TEST_ITEM_COUNT);
+            ReflectionTestUtils.setField(target, "executor", platform);
+            Measurement onPlatform = measure(() -> itemService.processItemsPerItemAsync().get().size());
+
+            seedItems(LOAD_TEST_ITEM_COUNT);
+            ReflectionTestUtils.setField(target, "executor", virtual);
+            Measurement onVirtual = measure(() -> itemService.processItemsPerItemAsync().get().size());
+
+            LOGGER.info("10 platform threads: {} items in {} ms ({} items/s)",
+                    onPlatform.items, onPlatform.millis, Math.round(onPlatform.throughput()));
+            LOGGER.info("virtual threads:     {} items in {} ms ({} items/s)",
+                    onVirtual.items, onVirtual.millis, Math.round(onVirtual.throughput()));
+
+            assertEquals(LOAD_TEST_ITEM_COUNT, onVirtual.items);
+        } finally {
+            ReflectionTestUtils.setField(target, "executor", configuredExecutor);
+            ReflectionTestUtils.setField(target, "pipeline", configuredPipeline);
+            platform.destroy();
+            virtual.destroy();
+        }
+    }
+
+    /**
+     * Puts a processor in front of the configured ones that holds its thread for {@link #BLOCKING_CALL_LATENCY}
+     * per item, as a synchronous client of an external service would.
+     */
+    @SuppressWarnings("unchecked")
+    private static ItemProcessingPipeline withBlockingCall(ItemProcessingPipeline pipeline) {
+        List<ItemProcessor> processors = new ArrayList<>();
+        processors.add(item -> {
+            try {
+                Thread.sleep(BLOCKING_CALL_LATENCY);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return CompletableFuture.completedFuture(item);
+        });
+        processors.addAll((List<ItemProcessor>) ReflectionTestUtils.getField(pipeline, "processors"));
+        return new ItemProcessingPipeline(processors);
+    }
+
+    @Test
+    void compareLookupLatencyDuringProcessingWithFixedAndAdaptiveLimit() throws Exception {
+        ItemService target = AopTestUtils.getTargetObject(itemService);
+        Object configuredExecutor = ReflectionTestUtils.getField(target, "executor");
+        ProcessingExecutor fixed = new ProcessingExecutor(Executors.newVirtualThreadPerTaskExecutor(),
+                ConcurrencyLimiter.fixed(10), null, Duration.ofSeconds(30));
+        ProcessingExecutor adaptive = new ProcessingExecutor(Executors.newVirtualThreadPerTaskExecutor(),
+                new ConcurrencyLimiter(1, 10, 2.0, () -> 0), null, Duration.ofSeconds(30));
+        try {
+            // Prima rulare încălzește JIT-ul și nu este măsurată
+            seedItems(LOAD_TEST_ITEM_COUNT);
+            measureLookupsDuring(() -> itemService.processItemsPerItemAsync().get().size());
+
+            seedItems(LOAD_TEST_ITEM_COUNT);
+            ReflectionTestUtils.setField(target, "executor", fixed);
+            LookupLatency withFixed = measureLookupsDuring(() -> itemService.processItemsPerItemAsync().get().size());
+
+            seedItems(LOAD_TEST_ITEM_COUNT);
+            ReflectionTestUtils.setField(target, "executor", adaptive);
+            LookupLatency withAdaptive = measureLookupsDuring(() -> itemService.processItemsPerItemAsync().get().size());
+
+            LOGGER.info("fixed limit:    {} items processed, {} lookups, p50 {} us, p99 {} us",
+                    withFixed.items, withFixed.lookups, withFixed.p50Micros, withFixed.p99Micros);
+            LOGGER.info("adaptive limit: {} items processed, {} lookups, p50 {} us, p99 {} us, final limit {}",
+                    withAdaptive.items, withAdaptive.lookups, withAdaptive.p50Micros, withAdaptive.p99Micros,
+                    adaptive.getConcurrencyLimit());
+
+            assertEquals(LOAD_TEST_ITEM_COUNT, withAdaptive.items);
+        } finally {
+            ReflectionTestUtils.setField(target, "executor", configuredExecutor);
+            fixed.destroy();
+            adaptive.destroy();
+        }
+    }
+
+    @Test
+    void measurePerItemProcessingAllocation() throws Exception {
+        seedItems(LOAD_TEST_ITEM_COUNT);
+        long allocatedBefore = totalAllocatedBytes();
+        Measurement measurement = measure(() -> itemService.processItemsPerItemAsync().get().size());
+        long allocated = totalAllocatedBytes() - allocatedBefore;
+
+        LOGGER.info("per-item: {} items in {} ms ({} items/s), {} bytes allocated per item",
+                measurement.items, measurement.millis, Math.round(measurement.throughput()), allocated / measurement.items);
+        assertEquals(LOAD_TEST_ITEM_COUNT, measurement.items);
+    }
+
+    /**
+     * Bytes allocated so far by all threads of the JVM; virtual threads are accounted to their carrier threads.
+     */
+    private static long totalAllocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getTotalThreadAllocatedBytes();
+    }
+
+    /**
+     * Replaces the table content with the given number of fresh, unprocessed items.
+     */
+    private void seedItems(int count) {
+        itemRepository.deleteAllInBatch();
+        addItems(count);
+    }
+
+    /**
+     * Inserts the given number of fresh, unprocessed items next to the existing ones.
+     */
+    private void addItems(int count) {
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(new Item(null, "Item " + i, "Description " + i, "NEW", "item" + i + "@example.com"));
+        }
+        itemRepository.saveAll(items);
+    }
+
+    /**
+     * Runs one processing run and measures it.
+     * @param run The run; returns the number of items it processed.
+     */
+    private Measurement measure(Callable<Integer> run) throws Exception {
+        statistics.clear();
+        long start = System.nanoTime();
+        int items = run.call();
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        return new Measurement(items, Math.max(millis, 1), statistics.getPrepareStatementCount(),
+                statistics.getEntityLoadCount());
+    }
+
+    /**
+     * Runs one processing run while another thread keeps looking up single items, as live traffic would.
+     * @param run The run; returns the number of items it processed.
+     */
+    private LookupLatency measureLookupsDuring(Callable<Integer> run) throws Exception {
+        List<Long> ids = itemRepository.findAllIds();
+        List<Long> latencies = new ArrayList<>();
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread lookups = Thread.ofPlatform().start(() -> {
+            while (running.get()) {
+                long start = System.nanoTime();
+                itemRepository.findById(ids.get(ThreadLocalRandom.current().nextInt(ids.size())));
+                latencies.add(System.nanoTime() - start);
+            }
+        });
+        int items;
+        try {
+            items = run.call();
+        } finally {
+            running.set(false);
+            lookups.join();
+        }
+        latencies.sort(null);
+        return new LookupLatency(items, latencies.size(), percentile(latencies, 0.5) / 1000, percentile(latencies, 0.99) / 1000);
+    }
+
+    private static long percentile(List<Long> sorted, double percentile) {
+        return sorted.isEmpty() ? 0 : sorted.get((int) Math.min(sorted.size() - 1, Math.floor(sorted.size() * percentile)));
+    }
+
+    private record LookupLatency(int items, int lookups, long p50Micros, long p99Micros) {
+    }
+
+    private record Measurement(int items, long millis, long statements, long entitiesLoaded) {
+        double throughput() {
+            return items * 1000.0 / millis;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.siemens.internship;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ItemProcessingPipelineTest {
+
+    @Test
+    public void testProcessorsAreAppliedInOrder() {
+        List<String> calls = new ArrayList<>();
+        ItemProcessingPipeline pipeline = new ItemProcessingPipeline(List.of(
+                item -> {
+                    calls.add("first");
+                    return CompletableFuture.completedFuture(item);
+                },
+                item -> {
+                    calls.add("second");
+                    return CompletableFuture.completedFuture(item);
+                },
+                new StatusUpdateItemProcessor()));
+
+        Item item = pipeline.process(new Item(1L, "Item", "Description", "NEW", "item@example.com"))
+                .toCompletableFuture().join();
+
+        assertEquals(List.of("first", "second"), calls);
+        assertEquals(Item.STATUS_PROCESSED, item.getStatus());
+    }
+
+    @Test
+    public void testWaitingProcessorDoesNotBlockCaller() {
+        ItemProcessingPipeline pipeline = new ItemProcessingPipeline(List.of(
+                new SimulatedLatencyItemProcessor(Duration.ofMillis(200)), new StatusUpdateItemProcessor()));
+        List<Item> items = List.of(
+                new Item(1L, "Item 1", "Description 1", "NEW", "item1@example.com"),
+                new Item(2L, "Item 2", "Description 2", "NEW", "item2@example.com"));
+
+        long start = System.nanoTime();
+        CompletionStage<List<Item>> stage = pipeline.processBatch(items);
+
+        // Apelul se întoarce imediat, iar statusul se schimbă abia după întârziere
+        assertTrue(System.nanoTime() - start < 100_000_000L);
+        assertFalse(stage.toCompletableFuture().isDone());
+        assertTrue(stage.toCompletableFuture().join().stream()
+                .allMatch(item -> Item.STATUS_PROCESSED.equals(item.getStatus())));
+    }
+
+    @Test
+    public void testBatchDefaultsToItemByItem() {
+        ItemProcessor uppercase = item -> {
+            item.setName(item.getName().toUpperCase());
+            return CompletableFuture.completedFuture(item);
+        };
+        List<Item> items = List.of(
+                new Item(1L, "first", "Description 1", "NEW", "item1@example.com"),
+                new Item(2L, "second", "Description 2", "NEW", "item2@example.com"));
+
+        List<Item> processed = uppercase.processBatch(items).toCompletableFuture().join();
+
+        assertEquals(List.of("FIRST", "SECOND"), processed.stream().map(Item::getName).toList());
+    }
+}
@@ -0,0 +1,129 @@
+package com.siemens.internship;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Filters items by status and email in the database, one keyset page at a time.
+ */
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+public class ItemQueryTest extends IsolatedDatabaseTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        seedItems(30, i -> new Item(null, "Item " + i, "Description " + i,
+                i % 3 == 0 ? Item.STATUS_PROCESSED : "NEW", i % 2 == 0 ? "even@example.com" : "odd@example.com"));
+    }
+
+    @Test
+    public void testPagesThroughItemsWithStatus() {
+        List<ItemResponse> found = new ArrayList<>();
+        ItemPage page = itemService.findPage("NEW", null, 0L, 7);
+        found.addAll(page.items());
+        while (page.nextCursor() != null) {
+            page = itemService.findPage("NEW", null, page.nextCursor(), 7);
+            found.addAll(page.items());
+        }
+
+        assertEquals(20, found.size());
+        assertTrue(found.stream().allMatch(item -> "NEW".equals(item.status())));
+        // Paginile vin în ordinea ID-urilor, fără duplicate
+        List<Long> ids = found.stream().map(ItemResponse::id).toList();
+        assertEquals(ids.stream().sorted().distinct().toList(), ids);
+    }
+
+    @Test
+    public void testFiltersByEmailAndByBoth() {
+        assertEquals(15, itemService.findPage(null, "odd@example.com", 0L, 100).items().size());
+
+        List<ItemResponse> both = itemService.findPage(Item.STATUS_PROCESSED, "even@example.com", 0L, 100).items();
+        assertEquals(5, both.size());
+        assertTrue(both.stream().allMatch(item -> Item.STATUS_PROCESSED.equals(item.status())
+                && "even@example.com".equals(item.email())));
+    }
+
+    @Test
+    public void testStatsCountEveryStatus() {
+        ItemStats stats = itemService.getStats();
+
+        assertEquals(30, stats.total());
+        assertEquals(List.of(new ItemStatusCount("NEW", 20), new ItemStatusCount(Item.STATUS_PROCESSED, 10)), stats.byStatus());
+    }
+
+    @Test
+    public void testListingsAreProjectedWithoutLoadingEntities() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<ItemSummary> summaries = itemService.findAllSummaries();
+        itemService.findPage(0L, 10);
+        itemService.findPage("NEW", "odd@example.com", 0L, 10);
+        itemService.getStats();
+
+        assertEquals(30, summaries.size());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getFlushCount());
+    }
+
+    @Test
+    public void testEndpointsChooseFilterByParameters() throws Exception {
+        mockMvc.perform(get("/api/items").param("status", "NEW").param("email", "odd@example.com").param("limit", "4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(4))
+                .andExpect(jsonPath("$.nextCursor").isNumber());
+        mockMvc.perform(get("/api/items").param("email", "odd@example.com"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(15));
+        mockMvc.perform(get("/api/items").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2));
+        mockMvc.perform(get("/api/items"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(30))
+                .andExpect(jsonPath("$[0].name").isString())
+                .andExpect(jsonPath("$[0].email").doesNotExist());
+        mockMvc.perform(get("/api/items/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(30));
+    }
+
+    @Test
+    public void testFiltersSeekThroughIndexes() {
+        String byStatus = jdbcTemplate.queryForObject(
+                "EXPLAIN SELECT * FROM item WHERE status = 'NEW' AND id > 0 ORDER BY id LIMIT 10", String.class);
+        String byEmail = jdbcTemplate.queryForObject(
+                "EXPLAIN SELECT * FROM item WHERE email = 'odd@example.com' AND id > 0 ORDER BY id LIMIT 10", String.class);
+
+        assertTrue(byStatus.toUpperCase().contains("IDX_ITEM_STATUS"), byStatus);
+        assertTrue(byEmail.toUpperCase().contains("IDX_ITEM_EMAIL"), byEmail);
+    }
+}
@@ -0,0 +1,42 @@
+package com.siemens.internship;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ItemRateLimiterTest {
+
+    @Test
+    public void testBurstUpToOneSecondIsNotDelayed() {
+        ItemRateLimiter limiter = new ItemRateLimiter(1000);
+
+        long start = System.nanoTime();
+        limiter.acquire(1000);
+
+        assertTrue(System.nanoTime() - start < 50_000_000L);
+    }
+
+    @Test
+    public void testRateStaysBelowCeiling() {
+        ItemRateLimiter limiter = new ItemRateLimiter(1000);
+        limiter.acquire(1000);
+
+        // Găleata este goală, deci încă 300 de iteme trebuie să aștepte cel puțin 300 ms
+        long start = System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire(100);
+        }
+
+        assertTrue(System.nanoTime() - start >= 290_000_000L);
+    }
+
+    @Test
+    public void testChunkLargerThanBucketWaitsForTheRest() {
+        ItemRateLimiter limiter = new ItemRateLimiter(1000);
+
+        long start = System.nanoTime();
+        limiter.acquire(1200);
+
+        assertTrue(System.nanoTime() - start >= 190_000_000L);
+    }
+}
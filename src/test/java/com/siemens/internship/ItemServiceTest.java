@@ -1,19 +1,39 @@
 package com.siemens.internship;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.mockito.stubbing.Answer;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -23,6 +43,41 @@ public class ItemServiceTest {
     @Mock
     private ItemRepository itemRepository;
 
+    @Mock
+    private ItemChunkProcessor chunkProcessor;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private ItemProcessingProperties processingProperties = new ItemProcessingProperties();
+
+    @Spy
+    private CacheManager cacheManager = new ConcurrentMapCacheManager(ItemCacheConfig.ITEMS_CACHE);
+
+    @Spy
+    private ProcessingJobRegistry jobRegistry = new ProcessingJobRegistry(processingProperties);
+
+    @Mock
+    private ProcessingJobStore jobStore;
+
+    @Mock
+    private ItemBulkWriter bulkWriter;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Spy
+    private ProcessingExecutor executor = new ProcessingExecutor(Executors.newFixedThreadPool(4), 4, Duration.ofSeconds(5));
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private ProcessingMetrics metrics = new ProcessingMetrics(meterRegistry, executor);
+
+    @Spy
+    private ItemProcessingPipeline pipeline = new ItemProcessingPipeline(List.of(new StatusUpdateItemProcessor()));
+
     @InjectMocks
     private ItemService itemService;
 
@@ -51,6 +106,15 @@ public class ItemServiceTest {
         verify(itemRepository, times(1)).findAll();
     }
 
+    @Test
+    void testFindAllSummaries() {
+        List<ItemSummary> summaries = List.of(new ItemSummary(1L, "Item 1", "NEW"), new ItemSummary(2L, "Item 2", "NEW"));
+        when(itemRepository.findAllSummaries()).thenReturn(summaries);
+
+        assertEquals(summaries, itemService.findAllSummaries());
+        verify(itemRepository, never()).findAll();
+    }
+
     @Test
     void testFindById() {
         Item item = mockItems.get(0);
@@ -63,6 +127,29 @@ public class ItemServiceTest {
         verify(itemRepository, times(1)).findById(1L);
     }
 
+    @Test
+    void testFindPage_returnsCursorWhenMoreItemsFollow() {
+        List<ItemResponse> rows = Arrays.asList(ItemResponse.from(mockItems.get(0)), ItemResponse.from(mockItems.get(1)),
+                ItemResponse.from(new Item(3L, "Item 3", "Description 3", "NEW", "email3@example.com")));
+        when(itemRepository.findPageAfter(eq(0L), any(Pageable.class))).thenReturn(rows);
+
+        ItemPage page = itemService.findPage(0L, 2);
+
+        assertEquals(rows.subList(0, 2), page.items());
+        assertEquals(2L, page.nextCursor());
+        verify(itemRepository).findPageAfter(0L, PageRequest.of(0, 3));
+    }
+
+    @Test
+    void testFindPage_lastPageHasNoCursor() {
+        when(itemRepository.findPageAfter(eq(1L), any(Pageable.class))).thenReturn(List.of(ItemResponse.from(mockItems.get(1))));
+
+        ItemPage page = itemService.findPage(1L, 2);
+
+        assertEquals(1, page.items().size());
+        assertNull(page.nextCursor());
+    }
+
     @Test
     void testSave() {
         Item item = mockItems.get(0);
@@ -75,6 +162,75 @@ public class ItemServiceTest {
         verify(itemRepository, times(1)).save(item);
     }
 
+    @Test
+    void testUpdate() {
+        Item item = new Item(null, "Updated", "Description", "NEW", "updated@example.com");
+        when(itemRepository.updateById(1L, "Updated", "Description", "NEW", "updated@example.com")).thenReturn(1);
+
+        Optional<Item> updatedItem = itemService.update(1L, item, null);
+
+        assertTrue(updatedItem.isPresent());
+        assertEquals(1L, updatedItem.get().getId());
+        verify(itemRepository, never()).findById(anyLong());
+        verify(itemRepository, never()).save(any(Item.class));
+    }
+
+    @Test
+    void testUpdateNotFound() {
+        Item item = new Item(null, "Updated", "Description", "NEW", "updated@example.com");
+        when(itemRepository.updateById(eq(1L), any(), any(), any(), any())).thenReturn(0);
+
+        assertTrue(itemService.update(1L, item, null).isEmpty());
+    }
+
+    @Test
+    void testConditionalUpdateReturnsNextVersion() {
+        Item item = new Item(null, "Updated", "Description", "NEW", "updated@example.com");
+        when(itemRepository.updateByIdAndVersion(1L, 3L, "Updated", "Description", "NEW", "updated@example.com")).thenReturn(1);
+
+        Optional<Item> updatedItem = itemService.update(1L, item, 3L);
+
+        assertEquals(4L, updatedItem.orElseThrow().getVersion());
+        verify(itemRepository, never()).updateById(anyLong(), any(), any(), any(), any());
+        verify(itemRepository, never()).existsById(anyLong());
+    }
+
+    @Test
+    void testConditionalUpdateOfChangedItemConflicts() {
+        Item item = new Item(null, "Updated", "Description", "NEW", "updated@example.com");
+        when(itemRepository.updateByIdAndVersion(eq(1L), eq(3L), any(), any(), any(), any())).thenReturn(0);
+        when(itemRepository.existsById(1L)).thenReturn(true);
+
+        assertThrows(OptimisticLockingFailureException.class, () -> itemService.update(1L, item, 3L));
+    }
+
+    @Test
+    void testConditionalUpdateOfMissingItemIsEmpty() {
+        Item item = new Item(null, "Updated", "Description", "NEW", "updated@example.com");
+        when(itemRepository.updateByIdAndVersion(eq(1L), eq(3L), any(), any(), any(), any())).thenReturn(0);
+        when(itemRepository.existsById(1L)).thenReturn(false);
+
+        assertTrue(itemService.update(1L, item, 3L).isEmpty());
+    }
+
+    @Test
+    void testConditionalDeleteOfChangedItemConflicts() {
+        when(itemRepository.removeByIdAndVersion(1L, 3L)).thenReturn(0);
+        when(itemRepository.existsById(1L)).thenReturn(true);
+
+        assertThrows(OptimisticLockingFailureException.class, () -> itemService.deleteIfExists(1L, 3L));
+    }
+
+    @Test
+    void testDeleteIfExists() {
+        when(itemRepository.removeById(1L)).thenReturn(1);
+        when(itemRepository.removeById(2L)).thenReturn(0);
+
+        assertTrue(itemService.deleteIfExists(1L, null));
+        assertFalse(itemService.deleteIfExists(2L, null));
+        verify(itemRepository, never()).findById(anyLong());
+    }
+
     @Test
     void testDeleteById() {
         doNothing().when(itemRepository).deleteById(1L);
@@ -85,7 +241,7 @@ public class ItemServiceTest {
     }
 
     @Test
-    public void testProcessItemsAsync_success() throws ExecutionException, InterruptedException {
+    public void testProcessItemsPerItemAsync_success() throws ExecutionException, InterruptedException {
         Item item1 = new Item(1L, "Item 1", "Description 1", "NEW", "test1@example.com");
         Item item2 = new Item(2L, "Item 2", "Description 2", "NEW", "test2@example.com");
 
@@ -94,18 +250,17 @@ public class ItemServiceTest {
         when(itemRepository.findById(2L)).thenReturn(Optional.of(item2));
         when(itemRepository.save(any(Item.class))).thenAnswer((Answer<Item>) invocation -> invocation.getArgument(0));
 
-        CompletableFuture<List<Item>> result = itemService.processItemsAsync();
+        CompletableFuture<List<Item>> result = itemService.processItemsPerItemAsync();
 
         List<Item> processedItems = result.get();
 
         assertEquals(2, processedItems.size());
         assertTrue(processedItems.contains(item1));
         assertTrue(processedItems.contains(item2));
-        assertEquals(2, itemService.getProcessedCount().get()); // Verificăm că procesarea a fost făcută corect
     }
 
     @Test
-    public void testProcessItemsAsync_itemNotFound() throws ExecutionException, InterruptedException {
+    public void testProcessItemsPerItemAsync_itemNotFound() throws ExecutionException, InterruptedException {
         Item item1 = new Item(1L, "Item 1", "Description 1", "NEW", "test1@example.com");
 
         when(itemRepository.findAllIds()).thenReturn(Arrays.asList(1L, 2L));
@@ -113,28 +268,553 @@ public class ItemServiceTest {
         when(itemRepository.findById(2L)).thenReturn(Optional.empty()); // Al doilea item nu există
         when(itemRepository.save(any(Item.class))).thenAnswer((Answer<Item>) invocation -> invocation.getArgument(0));
 
-        CompletableFuture<List<Item>> result = itemService.processItemsAsync();
+        CompletableFuture<List<Item>> result = itemService.processItemsPerItemAsync();
 
         List<Item> processedItems = result.get();
 
         assertEquals(1, processedItems.size());
         assertTrue(processedItems.contains(item1));
-        assertEquals(1, itemService.getProcessedCount().get()); // Verificăm că doar un item a fost procesat
     }
 
     @Test
-    public void testProcessItemsAsync_withError() throws ExecutionException, InterruptedException {
+    public void testProcessItemsPerItemAsync_withError() throws ExecutionException, InterruptedException {
         Item item1 = new Item(1L, "Item 1", "Description 1", "NEW", "test1@example.com");
 
         when(itemRepository.findAllIds()).thenReturn(Arrays.asList(1L));
         when(itemRepository.findById(1L)).thenReturn(Optional.of(item1));
         when(itemRepository.save(any(Item.class))).thenThrow(new RuntimeException("Database error"));
 
-        CompletableFuture<List<Item>> result = itemService.processItemsAsync();
+        CompletableFuture<List<Item>> result = itemService.processItemsPerItemAsync();
 
         List<Item> processedItems = result.get();
 
         assertEquals(0, processedItems.size());
-        assertEquals(0, itemService.getProcessedCount().get());
+    }
+
+    @Test
+    public void testProcessItemsPerItemAsync_retriesConflict() throws ExecutionException, InterruptedException {
+        Item stale = new Item(1L, "Item 1", "Description 1", "NEW", "test1@example.com");
+        Item current = new Item(1L, "Item 1", "Changed", "NEW", "test1@example.com");
+
+        when(itemRepository.findAllIds()).thenReturn(List.of(1L));
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(stale), Optional.of(current));
+        when(itemRepository.save(stale)).thenThrow(new OptimisticLockingFailureException("Item 1 was changed"));
+        when(itemRepository.save(current)).thenReturn(current);
+
+        List<Item> processedItems = itemService.processItemsPerItemAsync().get();
+
+        // Itemul este recitit după conflict, așa că modificarea concurentă nu se pierde
+        assertEquals(List.of(current), processedItems);
+        assertEquals(Item.STATUS_PROCESSED, current.getStatus());
+        verify(itemRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    public void testProcessItemsAsync_retriesConflictingChunk() throws ExecutionException, InterruptedException {
+        Item item1 = new Item(1L, "Item 1", "Description 1", "NEW", "test1@example.com");
+        when(itemRepository.findIdsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(1L));
+        when(itemRepository.findIdsAfter(eq(1L), any(Pageable.class))).thenReturn(List.of());
+        when(chunkProcessor.processChunk(List.of(1L)))
+                .thenThrow(new OptimisticLockingFailureException("Item 1 was changed"))
+                .thenReturn(ProcessedChunk.written(List.of(item1)));
+
+        List<Item> processedItems = itemService.processItemsAsync().get();
+
+        assertEquals(List.of(item1), processedItems);
+        verify(chunkProcessor, times(2)).processChunk(List.of(1L));
+    }
+
+    @Test
+    public void testProcessItemsAsync_givesUpAfterMaxAttempts() throws ExecutionException, InterruptedException {
+        processingProperties.getRetry().setMaxAttempts(3);
+        processingProperties.getRetry().setInitialBackoff(Duration.ZERO);
+        when(itemRepository.findIdsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(1L));
+        when(itemRepository.findIdsAfter(eq(1L), any(Pageable.class))).thenReturn(List.of());
+        when(chunkProcessor.processChunk(List.of(1L))).thenThrow(new OptimisticLockingFailureException("Item 1 was changed"));
+
+        List<Item> processedItems = itemService.processItemsAsync().get();
+
+        assertTrue(processedItems.isEmpty());
+        verify(chunkProcessor, times(3)).processChunk(List.of(1L));
+    }
+
+    @Test
+    public void testProcessItemsAsync_boundsChunksInFlight() throws ExecutionException, InterruptedException {
+        processingProperties.setChunkSize(1);
+        processingProperties.getBackpressure().setMaxInFlightChunks(2);
+        when(itemRepository.findIdsAfter(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            long after = invocation.getArgument(0);
+            return after < 10 ? List.of(after + 1) : List.of();
+        });
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        when(chunkProcessor.processChunk(anyList())).thenAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            running.decrementAndGet();
+            List<Long> ids = invocation.getArgument(0);
+            return ProcessedChunk.written(List.of(new Item(ids.get(0), "Item", "Description", "NEW", "item@example.com")));
+        });
+
+        List<Item> processedItems = itemService.processItemsAsync().get();
+
+        // Executorul are 4 fire, dar niciodată nu sunt mai mult de 2 chunk-uri trimise și neterminate
+        assertEquals(10, processedItems.size());
+        assertTrue(maxRunning.get() <= 2);
+    }
+
+    @Test
+    public void testProcessing_completesOnSingleThreadPool() throws Exception {
+        ProcessingExecutor singleThread = new ProcessingExecutor(Executors.newFixedThreadPool(1), 1, Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(itemService, "executor", singleThread);
+        processingProperties.setChunkSize(1);
+        when(itemRepository.findIdsAfter(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            long after = invocation.getArgument(0);
+            return after < 5 ? List.of(after + 1) : List.of();
+        });
+        when(chunkProcessor.processChunk(anyList())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            return ProcessedChunk.written(List.of(new Item(ids.get(0), "Item", "Description", "NEW", "item@example.com")));
+        });
+
+        // Singurul fir al pool-ului rulează și numărarea, și chunk-urile; niciun task nu are voie să aștepte altul din coada lui
+        List<Item> processedItems = itemService.processItemsAsync().get(5, TimeUnit.SECONDS);
+        ProcessingJob job = itemService.startProcessing(ProcessingMode.HYDRATE);
+        job.getCompletion().get(5, TimeUnit.SECONDS);
+
+        assertEquals(5, processedItems.size());
+        assertEquals(5, job.getProcessedCount().get());
+        singleThread.destroy();
+    }
+
+    @Test
+    public void testProcessItemsAsync_processesEveryChunk() throws ExecutionException, InterruptedException {
+        Item item1 = new Item(1L, "Item 1", "Description 1", "NEW", "test1@example.com");
+        Item item2 = new Item(2L, "Item 2", "Description 2", "NEW", "test2@example.com");
+        Item item3 = new Item(3L, "Item 3", "Description 3", "NEW", "test3@example.com");
+        processingProperties.setChunkSize(2);
+
+        when(itemRepository.findIdsAfter(eq(0L), any(Pageable.class))).thenReturn(Arrays.asList(1L, 2L));
+        when(itemRepository.findIdsAfter(eq(2L), any(Pageable.class))).thenReturn(List.of(3L));
+        when(itemRepository.findIdsAfter(eq(3L), any(Pageable.class))).thenReturn(List.of());
+        when(chunkProcessor.processChunk(Arrays.asList(1L, 2L))).thenReturn(ProcessedChunk.written(Arrays.asList(item1, item2)));
+        when(chunkProcessor.processChunk(List.of(3L))).thenReturn(ProcessedChunk.written(List.of(item3)));
+
+        List<Item> processedItems = itemService.processItemsAsync().get();
+
+        assertEquals(3, processedItems.size());
+        assertTrue(processedItems.containsAll(Arrays.asList(item1, item2, item3)));
+        verify(chunkProcessor, times(2)).processChunk(anyList());
+        verify(itemRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    public void testProcessItemsAsync_chunkWithMissingItem() throws ExecutionException, InterruptedException {
+        Item item1 = new Item(1L, "Item 1", "Description 1", "NEW", "test1@example.com");
+
+        when(itemRepository.findIdsAfter(eq(0L), any(Pageable.class))).thenReturn(Arrays.asList(1L, 2L));
+        when(chunkProcessor.processChunk(Arrays.asList(1L, 2L))).thenReturn(ProcessedChunk.written(List.of(item1))); // Itemul 2 a fost sters intre timp
+
+        List<Item> processedItems = itemService.processItemsAsync().get();
+
+        assertEquals(1, processedItems.size());
+        assertTrue(processedItems.contains(item1));
+    }
+
+    @Test
+    public void testProcessItemsAsync_runsDoNotShareResults() throws ExecutionException, InterruptedException {
+        Item item1 = new Item(1L, "Item 1", "Description 1", "NEW", "test1@example.com");
+
+        when(itemRepository.findIdsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(1L));
+        when(chunkProcessor.processChunk(List.of(1L))).thenReturn(ProcessedChunk.written(List.of(item1)));
+
+        List<Item> firstRun = itemService.processItemsAsync().get();
+        List<Item> secondRun = itemService.processItemsAsync().get();
+
+        // Fiecare rulare raporteaza doar itemele proprii, fara cele din rularile anterioare
+        assertEquals(List.of(item1), firstRun);
+        assertEquals(List.of(item1), secondRun);
+    }
+
+    @Test
+    public void testProcessItemsAsync_failedChunkDoesNotFailOthers() throws ExecutionException, InterruptedException {
+        Item item3 = new Item(3L, "Item 3", "Description 3", "NEW", "test3@example.com");
+        processingProperties.setChunkSize(2);
+
+        when(itemRepository.findIdsAfter(eq(0L), any(Pageable.class))).thenReturn(Arrays.asList(1L, 2L));
+        when(itemRepository.findIdsAfter(eq(2L), any(Pageable.class))).thenReturn(List.of(3L));
+        when(chunkProcessor.processChunk(Arrays.asList(1L, 2L))).thenThrow(new RuntimeException("Database error"));
+        when(chunkProcessor.processChunk(List.of(3L))).thenReturn(ProcessedChunk.written(List.of(item3)));
+
+        List<Item> processedItems = itemService.processItemsAsync().get();
+
+        assertEquals(1, processedItems.size());
+        assertTrue(processedItems.contains(item3));
+    }
+
+    @Test
+    public void testProcessItemIdsAsync_bulkModeSkipsHydration() throws ExecutionException, InterruptedException {
+        processingProperties.setChunkSize(2);
+
+        when(itemRepository.findIdsAfter(eq(0L), any(Pageable.class))).thenReturn(Arrays.asList(1L, 2L));
+        when(itemRepository.findIdsAfter(eq(2L), any(Pageable.class))).thenReturn(List.of(5L));
+        when(chunkProcessor.markChunkProcessed(1L, 2L)).thenReturn(2);
+        when(chunkProcessor.markChunkProcessed(5L, 5L)).thenReturn(1);
+
+        ProcessingSummary summary = itemService.processItemIdsAsync(ProcessingMode.BULK).get();
+
+        assertEquals(3, summary.processedCount());
+        assertEquals(0, summary.failedCount());
+        assertTrue(summary.processedIds().containsAll(Arrays.asList(1L, 2L, 5L)));
+        verify(chunkProcessor, never()).processChunk(anyList());
+        verify(itemRepository, never()).findAllById(anyList());
+    }
+
+    @Test
+    public void testProcessItemIdsAsync_hydrateModeReportsIds() throws ExecutionException, InterruptedException {
+        Item item1 = new Item(1L, "Item 1", "Description 1", "NEW", "test1@example.com");
+
+        when(itemRepository.findIdsAfter(eq(0L), any(Pageable.class))).thenReturn(Arrays.asList(1L, 2L));
+        when(chunkProcessor.processChunk(Arrays.asList(1L, 2L))).thenReturn(ProcessedChunk.written(List.of(item1)));
+
+        ProcessingSummary summary = itemService.processItemIdsAsync(ProcessingMode.HYDRATE).get();
+
+        assertEquals(List.of(1L), summary.processedIds());
+        assertEquals(1, summary.processedCount());
+        verify(chunkProcessor, never()).markChunkProcessed(anyLong(), anyLong());
+    }
+
+    @Test
+    public void testProcessItemIdsAsync_incrementalSelectsOnlyPendingItems() throws ExecutionException, InterruptedException {
+        processingProperties.setChunkSize(2);
+
+        when(itemRepository.countPending()).thenReturn(3L);
+        when(itemRepository.findPendingIdsAfter(eq(0L), any(Pageable.class))).thenReturn(Arrays.asList(4L, 7L));
+        when(itemRepository.findPendingIdsAfter(eq(7L), any(Pageable.class))).thenReturn(List.of(9L));
+        when(chunkProcessor.markPendingChunkProcessed(4L, 7L)).thenReturn(2);
+        when(chunkProcessor.markPendingChunkProcessed(9L, 9L)).thenReturn(1);
+
+        ProcessingSummary summary = itemService.processItemIdsAsync(ProcessingMode.BULK, ProcessingScheduling.CHUNKED, true).get();
+
+        assertEquals(3, summary.processedCount());
+        assertTrue(summary.processedIds().containsAll(Arrays.asList(4L, 7L, 9L)));
+        verify(itemRepository, never()).findIdsAfter(anyLong(), any(Pageable.class));
+        verify(chunkProcessor, never()).markChunkProcessed(anyLong(), anyLong());
+    }
+
+    @Test
+    public void testProcessItemsAsync_incrementalSkipsProcessedItems() throws ExecutionException, InterruptedException {
+        Item item3 = new Item(3L, "Item 3", "Description 3", "NEW", "test3@example.com");
+
+        when(itemRepository.findPendingIdsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(3L));
+        when(chunkProcessor.processChunk(List.of(3L))).thenReturn(ProcessedChunk.written(List.of(item3)));
+
+        List<Item> processedItems = itemService.processItemsAsync(true).get();
+
+        assertEquals(List.of(item3), processedItems);
+        verify(itemRepository, never()).findIdsAfter(anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    public void testProcessItemIdsAsync_failedChunkIsCounted() throws ExecutionException, InterruptedException {
+        when(itemRepository.findIdsAfter(eq(0L), any(Pageable.class))).thenReturn(Arrays.asList(1L, 2L));
+        when(chunkProcessor.markChunkProcessed(1L, 2L)).thenThrow(new RuntimeException("Database error"));
+
+        ProcessingSummary summary = itemService.processItemIdsAsync(ProcessingMode.BULK).get();
+
+        assertTrue(summary.processedIds().isEmpty());
+        assertEquals(0, summary.processedCount());
+        assertEquals(2, summary.failedCount());
+    }
+
+    @Test
+    public void testProcessItemIdsAsync_recordsChunkMetrics() throws ExecutionException, InterruptedException {
+        when(itemRepository.findIdsAfter(eq(0L), any(Pageable.class))).thenReturn(Arrays.asList(1L, 2L, 3L));
+        when(itemRepository.findIdsAfter(eq(3L), any(Pageable.class))).thenReturn(Arrays.asList(4L, 5L));
+        when(chunkProcessor.markChunkProcessed(1L, 3L)).thenReturn(2);
+        when(chunkProcessor.markChunkProcessed(4L, 5L)).thenThrow(new RuntimeException("Database error"));
+
+        itemService.processItemIdsAsync(ProcessingMode.BULK).get();
+
+        assertEquals(2, itemCount("success"));
+        assertEquals(1, itemCount("not_found"));
+        assertEquals(2, itemCount("failure"));
+        assertEquals(1, meterRegistry.get(ProcessingMetrics.CHUNK_TIMER).tag("mode", "bulk").tag("outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get(ProcessingMetrics.CHUNK_TIMER).tag("mode", "bulk").tag("outcome", "failure").timer().count());
+    }
+
+    private double itemCount(String outcome) {
+        return meterRegistry.get(ProcessingMetrics.ITEMS_COUNTER).tag("mode", "bulk").tag("outcome", outcome).counter().count();
+    }
+
+    @Test
+    public void testStartProcessing_tracksProgressInJob() throws ExecutionException, InterruptedException {
+        Item item1 = new Item(1L, "Item 1", "Description 1", "NEW", "test1@example.com");
+        processingProperties.setChunkSize(2);
+
+        when(itemRepository.count()).thenReturn(3L);
+        when(itemRepository.findIdsAfter(eq(0L), any(Pageable.class))).thenReturn(Arrays.asList(1L, 2L));
+        when(itemRepository.findIdsAfter(eq(2L), any(Pageable.class))).thenReturn(List.of(3L));
+        when(chunkProcessor.processChunk(Arrays.asList(1L, 2L))).thenReturn(ProcessedChunk.written(List.of(item1)));
+        when(chunkProcessor.processChunk(List.of(3L))).thenThrow(new RuntimeException("Database error"));
+
+        ProcessingJob job = itemService.startProcessing(ProcessingMode.HYDRATE);
+        job.getCompletion().get();
+
+        ProcessingProgress progress = job.toProgress();
+        assertEquals(ProcessingJobStatus.COMPLETED, progress.status());
+        assertEquals(3, progress.total());
+        assertEquals(1, progress.processed());
+        assertEquals(1, progress.failed());
+        assertNotNull(progress.finishedAt());
+        assertTrue(itemService.findJob(job.getId()).isPresent());
+    }
+
+    @Test
+    public void testStartProcessing_partitionedWalksIdRanges() throws ExecutionException, InterruptedException {
+        processingProperties.setChunkSize(2);
+
+        when(itemRepository.count()).thenReturn(3L);
+        when(itemRepository.findMinId()).thenReturn(1L);
+        when(itemRepository.findMaxId()).thenReturn(4L);
+        when(itemRepository.findIdsInRange(anyLong(), anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            long after = invocation.getArgument(0);
+            long toId = invocation.getArgument(1);
+            return Stream.of(1L, 2L, 4L).filter(id -> id > after && id <= toId).limit(2).toList();
+        });
+        when(chunkProcessor.markChunkProcessed(anyLong(), anyLong())).thenAnswer(invocation ->
+                (int) Stream.of(1L, 2L, 4L).filter(id -> id >= (long) invocation.getArgument(0)
+                        && id <= (long) invocation.getArgument(1)).count());
+
+        ProcessingJob job = itemService.startProcessing(ProcessingMode.BULK, ProcessingScheduling.PARTITIONED, false);
+        ProcessingSummary summary = job.getCompletion().get().toSummary();
+
+        assertEquals(ProcessingJobStatus.COMPLETED, job.getStatus());
+        assertEquals(3, summary.processedCount());
+        assertTrue(summary.processedIds().containsAll(Arrays.asList(1L, 2L, 4L)));
+        verify(itemRepository, never()).findIdsAfter(anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    public void testStartProcessing_savesJobAndCheckpoints() throws ExecutionException, InterruptedException {
+        processingProperties.setChunkSize(2);
+
+        when(itemRepository.findIdsAfter(eq(0L), any(Pageable.class))).thenReturn(Arrays.asList(1L, 2L));
+        when(itemRepository.findIdsAfter(eq(2L), any(Pageable.class))).thenReturn(List.of(5L));
+        when(chunkProcessor.markChunkProcessed(1L, 2L)).thenReturn(2);
+        when(chunkProcessor.markChunkProcessed(5L, 5L)).thenReturn(1);
+
+        ProcessingJob job = itemService.startProcessing(ProcessingMode.BULK);
+        job.getCompletion().get();
+
+        verify(jobStore).create(job);
+        verify(jobStore, atLeastOnce()).saveCheckpoint(job);
+        verify(jobStore, timeout(1000)).finish(job);
+        assertEquals(new ProcessingCheckpoint.Snapshot(5, 3, 0), job.getCheckpoint().snapshot());
+    }
+
+    @Test
+    public void testResumeUnfinishedJobs_continuesAfterCheckpoint() throws ExecutionException, InterruptedException {
+        ProcessingJobRecord record = new ProcessingJobRecord();
+        record.setId("interrupted-job");
+        record.setMode(ProcessingMode.BULK);
+        record.setScheduling(ProcessingScheduling.CHUNKED);
+        record.setStatus(ProcessingJobStatus.RUNNING);
+        record.setTotal(5);
+        record.setCheckpointId(2);
+        record.setProcessedCount(2);
+        record.setStartedAt(Instant.now());
+        when(jobStore.findUnfinished()).thenReturn(List.of(record));
+        when(jobStore.takeOver(record)).thenReturn(true);
+        when(itemRepository.findIdsAfter(eq(2L), any(Pageable.class))).thenReturn(Arrays.asList(3L, 4L, 5L));
+        when(chunkProcessor.markChunkProcessed(3L, 5L)).thenReturn(3);
+
+        itemService.resumeUnfinishedJobs();
+        ProcessingJob job = itemService.findJob("interrupted-job").orElseThrow();
+        job.getCompletion().get();
+
+        assertEquals(ProcessingJobStatus.COMPLETED, job.getStatus());
+        assertEquals(5, job.toProgress().processed());
+        verify(itemRepository, never()).findIdsAfter(eq(0L), any(Pageable.class));
+        verify(jobStore, never()).create(any());
+    }
+
+    @Test
+    public void testResumeUnfinishedJobs_skipsJobsOfLiveInstances() {
+        ProcessingJobRecord record = new ProcessingJobRecord();
+        record.setId("running-elsewhere");
+        record.setStatus(ProcessingJobStatus.RUNNING);
+        record.setOwner("node-b");
+        record.setLeaseExpiresAt(Instant.now().plusSeconds(60));
+        when(jobStore.findUnfinished()).thenReturn(List.of(record));
+        when(jobStore.takeOver(record)).thenReturn(false);
+
+        itemService.resumeUnfinishedJobs();
+
+        assertTrue(itemService.findJob("running-elsewhere").isEmpty());
+        verify(itemRepository, never()).findIdsAfter(anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    public void testFindProcessedItems_returnsRequestedPage() {
+        ProcessingJob job = new ProcessingJob(ProcessingMode.BULK, 3);
+        job.recordProcessed(Arrays.asList(3L, 1L, 2L), 3);
+        // Interogarea returnează itemele deja ordonate după ID
+        List<ItemResponse> items = Arrays.asList(
+                new ItemResponse(1L, "Item 1", "Description 1", "PROCESSED", "test1@example.com", 1L),
+                new ItemResponse(3L, "Item 3", "Description 3", "PROCESSED", "test3@example.com", 1L));
+        when(itemRepository.findResponsesByIds(Arrays.asList(3L, 1L))).thenReturn(items);
+
+        ProcessingResultsPage page = itemService.findProcessedItems(job, 0, 2);
+
+        assertEquals(3, page.totalElements());
+        assertEquals(items, page.items());
+        verify(itemRepository, never()).findAllById(any());
+    }
+
+    @Test
+    public void testProcessItemIdsAsync_keepsAtMostMaxResultIds() throws ExecutionException, InterruptedException {
+        processingProperties.setChunkSize(2);
+        processingProperties.getJobs().setMaxResultIds(3);
+        when(itemRepository.findIdsAfter(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            long after = invocation.getArgument(0);
+            return after < 10 ? List.of(after + 1, after + 2) : List.of();
+        });
+        when(chunkProcessor.markChunkProcessed(anyLong(), anyLong())).thenReturn(2);
+
+        ProcessingSummary summary = itemService.processItemIdsAsync(ProcessingMode.BULK).get();
+
+        // Toate itemele sunt numărate, dar doar primele ID-uri sunt păstrate în memorie
+        assertEquals(10, summary.processedCount());
+        assertEquals(3, summary.processedIds().size());
+        assertTrue(summary.truncated());
+    }
+
+    @Test
+    public void testFindProcessedItems_pastTheEnd() {
+        ProcessingJob job = new ProcessingJob(ProcessingMode.BULK, 1);
+        job.recordProcessed(List.of(1L), 1);
+
+        ProcessingResultsPage page = itemService.findProcessedItems(job, 5, 10);
+
+        assertTrue(page.items().isEmpty());
+        verify(itemRepository, never()).findAllById(anyList());
+    }
+
+    @Test
+    public void testStreamAll_passesEveryItemToConsumer() {
+        when(itemRepository.streamAll()).thenReturn(mockItems.stream());
+        List<Item> streamed = new ArrayList<>();
+
+        itemService.streamAll(streamed::add);
+
+        assertEquals(mockItems, streamed);
+    }
+
+    @Test
+    public void testStreamAll_clearsPersistenceContextPeriodically() {
+        Stream<Item> items = Stream.generate(() -> new Item(null, "Item", "Description", "NEW", "item@example.com")).limit(1200);
+        when(itemRepository.streamAll()).thenReturn(items);
+
+        itemService.streamAll(item -> { });
+
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    public void testStreamProcessedItems_loadsOnePageAtATime() {
+        ProcessingJob job = new ProcessingJob(ProcessingMode.BULK, 2);
+        job.recordProcessed(Arrays.asList(2L, 1L), 2);
+        when(itemRepository.findAllById(Arrays.asList(2L, 1L))).thenReturn(mockItems);
+        List<Item> streamed = new ArrayList<>();
+
+        itemService.streamProcessedItems(job, streamed::add);
+
+        assertEquals(mockItems, streamed);
+        verify(itemRepository, times(1)).findAllById(anyList());
+        verify(entityManager, times(1)).clear();
+    }
+
+    @Test
+    public void testProcessItemIdsAsync_evictsProcessedItemsFromCache() throws ExecutionException, InterruptedException {
+        cacheManager.getCache(ItemCacheConfig.ITEMS_CACHE).put(1L, mockItems.get(0));
+        when(itemRepository.findIdsAfter(eq(0L), any(Pageable.class))).thenReturn(Arrays.asList(1L, 2L));
+        when(chunkProcessor.markChunkProcessed(1L, 2L)).thenReturn(2);
+
+        itemService.processItemIdsAsync(ProcessingMode.BULK).get();
+
+        assertNull(cacheManager.getCache(ItemCacheConfig.ITEMS_CACHE).get(1L));
+    }
+
+    @Test
+    public void testCreateAll_insertsValidItemsInChunks() {
+        processingProperties.setChunkSize(2);
+        Item invalid = new Item(null, "Item 3", "Description 3", "NEW", "not-an-email");
+        Item valid = new Item(null, "Item 4", "Description 4", "NEW", "email4@example.com");
+        when(bulkWriter.insertAll(anyList())).thenAnswer(invocation -> {
+            List<Item> items = invocation.getArgument(0);
+            items.forEach(item -> item.setId(10L + items.indexOf(item)));
+            return items;
+        });
+
+        BulkResult result = itemService.createAll(List.of(mockItems.get(0), mockItems.get(1), invalid, valid).iterator());
+
+        assertEquals(3, result.succeeded());
+        assertEquals(1, result.failed());
+        assertEquals(BulkItemOutcome.CREATED, result.items().get(0).outcome());
+        assertEquals(BulkItemOutcome.INVALID, result.items().get(2).outcome());
+        assertEquals(List.of("email: Please provide a valid email address"), result.items().get(2).errors());
+        assertEquals(3, result.items().get(3).index());
+        assertEquals(10L, result.items().get(3).id());
+        // Doua chunk-uri: primul cu 2 itemi, al doilea doar cu itemul valid
+        verify(bulkWriter, times(2)).insertAll(anyList());
+    }
+
+    @Test
+    public void testCreateAll_failedChunkMarksOnlyItsItems() {
+        processingProperties.setChunkSize(1);
+        when(bulkWriter.insertAll(anyList()))
+                .thenAnswer(invocation -> {
+                    // ID-ul este luat din secvență înainte ca insertul să eșueze
+                    List<Item> items = invocation.getArgument(0);
+                    items.forEach(item -> item.setId(99L));
+                    throw new RuntimeException("Database error");
+                })
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        BulkResult result = itemService.createAll(mockItems.iterator());
+
+        assertEquals(BulkItemOutcome.FAILED, result.items().get(0).outcome());
+        assertEquals(List.of("Database error"), result.items().get(0).errors());
+        assertNull(result.items().get(0).id());
+        assertEquals(BulkItemOutcome.CREATED, result.items().get(1).outcome());
+        assertEquals(2L, result.items().get(1).id());
+    }
+
+    @Test
+    public void testUpdateAll_reportsMissingItemsAndEvictsCache() {
+        cacheManager.getCache(ItemCacheConfig.ITEMS_CACHE).put(1L, mockItems.get(0));
+        Item withoutId = new Item(null, "Item 3", "Description 3", "NEW", "email3@example.com");
+        when(bulkWriter.updateAll(anyList())).thenReturn(Set.of(1L));
+
+        BulkResult result = itemService.updateAll(List.of(mockItems.get(0), mockItems.get(1), withoutId).iterator());
+
+        assertEquals(BulkItemOutcome.UPDATED, result.items().get(0).outcome());
+        assertEquals(BulkItemOutcome.NOT_FOUND, result.items().get(1).outcome());
+        assertEquals(BulkItemOutcome.INVALID, result.items().get(2).outcome());
+        assertEquals(List.of("id: must not be null"), result.items().get(2).errors());
+        assertNull(cacheManager.getCache(ItemCacheConfig.ITEMS_CACHE).get(1L));
+    }
+
+    @Test
+    public void testDeleteAll_reportsMissingIds() {
+        when(bulkWriter.deleteAll(List.of(1L, 2L))).thenReturn(Set.of(2L));
+
+        BulkResult result = itemService.deleteAll(Arrays.asList(1L, 2L, null).iterator());
+
+        assertEquals(1, result.succeeded());
+        assertEquals(BulkItemOutcome.NOT_FOUND, result.items().get(0).outcome());
+        assertEquals(BulkItemOutcome.DELETED, result.items().get(1).outcome());
+        assertEquals(BulkItemOutcome.INVALID, result.items().get(2).outcome());
     }
 }
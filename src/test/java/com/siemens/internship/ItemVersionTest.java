@@ -0,0 +1,61 @@
+package com.siemens.internship;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class ItemVersionTest {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemChunkProcessor chunkProcessor;
+
+    @Test
+    public void testEveryWriteIncrementsVersion() {
+        Item item = itemService.save(new Item(null, "Item", "Description", "NEW", "item@example.com"));
+        assertEquals(0L, item.getVersion());
+
+        itemService.update(item.getId(), new Item(null, "Renamed", "Description", "NEW", "item@example.com"), 0L);
+        assertEquals(1L, currentVersion(item));
+
+        // Și UPDATE-urile în masă, care nu încarcă entitățile, trebuie să incrementeze versiunea
+        chunkProcessor.markChunkProcessed(item.getId(), item.getId());
+        assertEquals(2L, currentVersion(item));
+    }
+
+    @Test
+    public void testSaveOfStaleItemIsRejected() {
+        Item item = itemService.save(new Item(null, "Item", "Description", "NEW", "item@example.com"));
+        Item stale = itemRepository.findById(item.getId()).orElseThrow();
+
+        itemService.update(item.getId(), new Item(null, "Renamed", "Description", "NEW", "item@example.com"), null);
+        stale.setStatus(Item.STATUS_PROCESSED);
+
+        assertThrows(OptimisticLockingFailureException.class, () -> itemRepository.save(stale));
+        assertEquals("Renamed", itemRepository.findById(item.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    public void testUpdateBasedOnOldVersionIsRejected() {
+        Item item = itemService.save(new Item(null, "Item", "Description", "NEW", "item@example.com"));
+        itemService.update(item.getId(), new Item(null, "First", "Description", "NEW", "item@example.com"), 0L);
+
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> itemService.update(item.getId(), new Item(null, "Second", "Description", "NEW", "item@example.com"), 0L));
+        assertThrows(OptimisticLockingFailureException.class, () -> itemService.deleteIfExists(item.getId(), 0L));
+        assertEquals("First", itemRepository.findById(item.getId()).orElseThrow().getName());
+    }
+
+    private long currentVersion(Item item) {
+        return itemRepository.findById(item.getId()).orElseThrow().getVersion();
+    }
+}
@@ -0,0 +1,42 @@
+package com.siemens.internship;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProcessingCheckpointTest {
+
+    @Test
+    public void testAdvancesOverChunksCompletedInOrder() {
+        ProcessingCheckpoint checkpoint = new ProcessingCheckpoint(0, 0, 0);
+
+        assertTrue(checkpoint.complete(IdChunk.of(0, List.of(1L, 2L)), 2, 0));
+        assertTrue(checkpoint.complete(IdChunk.of(2, List.of(5L)), 0, 1));
+
+        assertEquals(new ProcessingCheckpoint.Snapshot(5, 2, 1), checkpoint.snapshot());
+    }
+
+    @Test
+    public void testHoldsBackChunksCompletedAheadOfAGap() {
+        ProcessingCheckpoint checkpoint = new ProcessingCheckpoint(0, 0, 0);
+
+        // Al treilea chunk se termină primul, dar checkpoint-ul nu poate sări peste cele încă în lucru
+        assertFalse(checkpoint.complete(IdChunk.of(4, List.of(6L)), 1, 0));
+        assertFalse(checkpoint.complete(IdChunk.of(2, List.of(3L, 4L)), 2, 0));
+        assertEquals(new ProcessingCheckpoint.Snapshot(0, 0, 0), checkpoint.snapshot());
+
+        assertTrue(checkpoint.complete(IdChunk.of(0, List.of(1L, 2L)), 2, 0));
+        assertEquals(new ProcessingCheckpoint.Snapshot(6, 5, 0), checkpoint.snapshot());
+    }
+
+    @Test
+    public void testContinuesFromResumedCheckpoint() {
+        ProcessingCheckpoint checkpoint = new ProcessingCheckpoint(100, 90, 10);
+
+        assertTrue(checkpoint.complete(new IdChunk(100, 150, List.of(120L)), 1, 0));
+
+        assertEquals(new ProcessingCheckpoint.Snapshot(150, 91, 10), checkpoint.snapshot());
+    }
+}
@@ -0,0 +1,115 @@
+package com.siemens.internship;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProcessingExecutorTest {
+
+    @Test
+    public void testConnectionPermitsLimitConcurrency() throws Exception {
+        ProcessingExecutor executor = new ProcessingExecutor(Executors.newVirtualThreadPerTaskExecutor(), 3, Duration.ofSeconds(5));
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            futures.add(CompletableFuture.runAsync(() -> executor.withConnectionPermit(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep(10);
+                return running.decrementAndGet();
+            }), executor));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+        executor.destroy();
+
+        assertTrue(maxRunning.get() <= 3);
+        assertEquals(3, executor.getMaxConcurrency());
+    }
+
+    @Test
+    public void testCountsQueuedAndActiveTasks() throws Exception {
+        ProcessingExecutor executor = new ProcessingExecutor(Executors.newFixedThreadPool(1), 1, Duration.ofSeconds(5));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        executor.execute(() -> {
+            started.countDown();
+            awaitQuietly(release);
+        });
+        executor.execute(() -> { });
+        started.await();
+
+        assertEquals(1, executor.getActiveTasks());
+        assertEquals(1, executor.getQueuedTasks());
+
+        release.countDown();
+        executor.destroy();
+
+        assertEquals(0, executor.getActiveTasks());
+        assertEquals(0, executor.getQueuedTasks());
+    }
+
+    @Test
+    public void testDestroyWaitsForRunningTasks() throws Exception {
+        ProcessingExecutor executor = new ProcessingExecutor(Executors.newFixedThreadPool(2), 2, Duration.ofSeconds(5));
+        AtomicBoolean finished = new AtomicBoolean();
+        CountDownLatch started = new CountDownLatch(1);
+
+        executor.execute(() -> {
+            started.countDown();
+            sleep(200);
+            finished.set(true);
+        });
+        started.await();
+        executor.destroy();
+
+        assertTrue(finished.get());
+    }
+
+    @Test
+    public void testDestroyInterruptsTasksAfterTimeout() throws Exception {
+        ProcessingExecutor executor = new ProcessingExecutor(Executors.newFixedThreadPool(1), 1, Duration.ofMillis(100));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        });
+        started.await();
+        executor.destroy();
+
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
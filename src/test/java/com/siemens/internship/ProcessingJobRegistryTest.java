@@ -0,0 +1,58 @@
+package com.siemens.internship;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProcessingJobRegistryTest {
+    private ItemProcessingProperties properties;
+    private ProcessingJobRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ItemProcessingProperties();
+        registry = new ProcessingJobRegistry(properties);
+    }
+
+    @Test
+    public void testFindsRegisteredJob() {
+        ProcessingJob job = registry.register(new ProcessingJob(ProcessingMode.BULK, 10));
+
+        assertSame(job, registry.find(job.getId()).orElseThrow());
+        assertTrue(registry.find("missing").isEmpty());
+    }
+
+    @Test
+    public void testDropsFinishedJobsAfterRetention() {
+        properties.getJobs().setRetention(Duration.ZERO);
+        ProcessingJob finished = registry.register(new ProcessingJob(ProcessingMode.BULK, 10));
+        ProcessingJob running = registry.register(new ProcessingJob(ProcessingMode.BULK, 10));
+        finished.complete();
+
+        assertTrue(registry.find(finished.getId()).isEmpty());
+        assertTrue(registry.find(running.getId()).isPresent());
+    }
+
+    @Test
+    public void testKeepsAtMostMaxRetainedFinishedJobs() throws InterruptedException {
+        properties.getJobs().setMaxRetained(2);
+        ProcessingJob oldest = registry.register(new ProcessingJob(ProcessingMode.BULK, 10));
+        ProcessingJob older = registry.register(new ProcessingJob(ProcessingMode.BULK, 10));
+        ProcessingJob newest = registry.register(new ProcessingJob(ProcessingMode.BULK, 10));
+        // Distinct finish times, so the eviction order is deterministic
+        oldest.complete();
+        Thread.sleep(2);
+        older.complete();
+        Thread.sleep(2);
+        newest.complete();
+        ProcessingJob running = registry.register(new ProcessingJob(ProcessingMode.BULK, 10));
+
+        assertTrue(registry.find(oldest.getId()).isEmpty());
+        assertTrue(registry.find(older.getId()).isPresent());
+        assertTrue(registry.find(newest.getId()).isPresent());
+        assertTrue(registry.find(running.getId()).isPresent());
+    }
+}
@@ -0,0 +1,91 @@
+package com.siemens.internship;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Resumes a job left by an instance that restarted while its lease was still running.
+ */
+@TestPropertySource(properties = {
+        "items.processing.jobs.lease=300ms",
+        "items.processing.chunk-size=10"
+})
+public class ProcessingJobResumeTest extends IsolatedDatabaseTest {
+    private static final int ITEM_COUNT = 30;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ProcessingJobRegistry jobRegistry;
+
+    @Autowired
+    private ProcessingJobRecordRepository jobRecordRepository;
+
+    @BeforeEach
+    void setUp() {
+        seedItems(ITEM_COUNT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jobRecordRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void testJobOfRestartedInstanceIsResumedOnceLeaseExpires() throws Exception {
+        // Instanța veche a repornit cu alt worker ID înainte să-i expire lease-ul și nu îl mai reînnoiește
+        ProcessingJobRecord record = new ProcessingJobRecord();
+        record.setId("restarted-job");
+        record.setMode(ProcessingMode.BULK);
+        record.setScheduling(ProcessingScheduling.CHUNKED);
+        record.setIncremental(true);
+        record.setStatus(ProcessingJobStatus.RUNNING);
+        record.setTotal(ITEM_COUNT);
+        record.setStartedAt(Instant.now());
+        record.setOwner("node-before-restart");
+        record.setLeaseExpiresAt(Instant.now().plusMillis(500));
+        jobRecordRepository.save(record);
+
+        itemService.resumeUnfinishedJobs();
+        assertTrue(jobRegistry.find(record.getId()).isEmpty());
+
+        // Jobul este preluat după expirarea lease-ului, fără altă repornire
+        ProcessingJob job = awaitRegistered(record.getId());
+        job.getCompletion().get(10, TimeUnit.SECONDS);
+
+        assertEquals(ProcessingJobStatus.COMPLETED, job.getStatus());
+        assertEquals(0, itemRepository.countPending());
+        // Starea salvată este scrisă după ce jobul s-a terminat în memorie
+        awaitStored(record.getId(), ProcessingJobStatus.COMPLETED);
+    }
+
+    private void awaitStored(String id, ProcessingJobStatus status) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (jobRecordRepository.findById(id).orElseThrow().getStatus() != status) {
+            assertTrue(System.nanoTime() < deadline, "Job " + id + " was not stored as " + status);
+            Thread.sleep(50);
+        }
+    }
+
+    private ProcessingJob awaitRegistered(String id) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            Optional<ProcessingJob> job = jobRegistry.find(id);
+            if (job.isPresent()) {
+                return job.get();
+            }
+            Thread.sleep(50);
+        }
+        return fail("Job " + id + " was not resumed");
+    }
+}
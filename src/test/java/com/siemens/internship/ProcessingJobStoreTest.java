@@ -0,0 +1,88 @@
+package com.siemens.internship;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProcessingJobStoreTest extends IsolatedDatabaseTest {
+
+    @Autowired
+    private ProcessingJobStore jobStore;
+
+    @Autowired
+    private ProcessingJobRecordRepository jobRecordRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void tearDown() {
+        // Joburile rămase RUNNING ar fi reluate de următorul context pornit pe aceeași bază de date
+        jobRecordRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void testSavedCheckpointIsResumedAndNeverMovesBack() {
+        ProcessingJob job = new ProcessingJob(ProcessingMode.BULK, ProcessingScheduling.CHUNKED, true, 10);
+        jobStore.create(job);
+        job.recordCompleted(IdChunk.of(0, List.of(1L, 2L, 3L)), 3, 0);
+        ProcessingCheckpoint.Snapshot first = job.getCheckpoint().snapshot();
+        job.recordCompleted(IdChunk.of(3, List.of(4L)), 1, 0);
+        jobStore.saveCheckpoint(job);
+
+        // Un checkpoint mai vechi, salvat mai târziu de alt thread, este ignorat
+        String owner = jobRecordRepository.findById(job.getId()).orElseThrow().getOwner();
+        Integer updatedRows = transactionTemplate.execute(status -> jobRecordRepository.advanceCheckpoint(job.getId(),
+                owner, first.idWatermark(), first.processedCount(), first.failedCount()));
+        assertEquals(0, updatedRows);
+
+        ProcessingJobRecord unfinished = jobStore.findUnfinished().stream()
+                .filter(record -> record.getId().equals(job.getId()))
+                .findFirst().orElseThrow();
+        ProcessingJob resumed = ProcessingJob.resume(unfinished);
+        assertEquals(new ProcessingCheckpoint.Snapshot(4, 4, 0), resumed.getCheckpoint().snapshot());
+        assertTrue(resumed.isIncremental());
+        assertEquals(job.getStartedAt().truncatedTo(ChronoUnit.MILLIS), resumed.getStartedAt().truncatedTo(ChronoUnit.MILLIS));
+    }
+
+    @Test
+    public void testOnlyExpiredLeaseIsTakenOver() {
+        ProcessingJob job = new ProcessingJob(ProcessingMode.BULK, 10);
+        jobStore.create(job);
+        ProcessingJobRecord record = jobRecordRepository.findById(job.getId()).orElseThrow();
+
+        // Instanța care a creat jobul îl ține cât timp lease-ul nu a expirat
+        assertFalse(jobStore.takeOver(record));
+
+        Instant now = Instant.now();
+        Integer takenOver = transactionTemplate.execute(status -> jobRecordRepository.takeOver(job.getId(), "node-b",
+                now.plusSeconds(60), now.plusSeconds(120)));
+        assertEquals(1, takenOver);
+        assertFalse(jobStore.renewLease(job));
+
+        // Fostul proprietar nu mai scrie starea jobului
+        job.complete();
+        jobStore.finish(job);
+        ProcessingJobRecord stored = jobRecordRepository.findById(job.getId()).orElseThrow();
+        assertEquals("node-b", stored.getOwner());
+        assertEquals(ProcessingJobStatus.RUNNING, stored.getStatus());
+    }
+
+    @Test
+    public void testFinishedJobIsNotResumed() {
+        ProcessingJob job = new ProcessingJob(ProcessingMode.HYDRATE, 0);
+        jobStore.create(job);
+        job.complete();
+        jobStore.finish(job);
+
+        assertTrue(jobStore.findUnfinished().stream().noneMatch(record -> record.getId().equals(job.getId())));
+        assertEquals(ProcessingJobStatus.COMPLETED, jobRecordRepository.findById(job.getId()).orElseThrow().getStatus());
+    }
+}
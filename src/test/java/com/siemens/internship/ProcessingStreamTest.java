@@ -0,0 +1,67 @@
+package com.siemens.internship;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Follows a processing job over Server-Sent Events.
+ */
+@TestPropertySource(properties = "items.processing.chunk-size=100")
+@AutoConfigureMockMvc
+public class ProcessingStreamTest extends IsolatedDatabaseTest {
+    private static final int ITEM_COUNT = 250;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        seedItems(ITEM_COUNT);
+    }
+
+    @Test
+    public void testEventsAreSentForEveryChunk() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/items/process/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult(30_000);
+
+        List<String> events = Arrays.stream(result.getResponse().getContentAsString().split("\n"))
+                .filter(line -> line.startsWith("event:"))
+                .toList();
+
+        // Progresul inițial, câte un eveniment pentru fiecare chunk și rezultatul final
+        assertEquals("event:progress", events.get(0));
+        assertEquals(3, events.stream().filter("event:items"::equals).count());
+        assertEquals("event:complete", events.get(events.size() - 1));
+        assertTrue(result.getResponse().getContentAsString().contains("\"status\":\"COMPLETED\""));
+        assertEquals(0, itemRepository.countPending());
+    }
+
+    @Test
+    public void testBulkJobOnlySendsProgress() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/items/process/stream").param("mode", "BULK")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult(30_000);
+
+        String content = result.getResponse().getContentAsString();
+        assertFalse(content.contains("event:items"));
+        assertTrue(content.contains("event:complete"));
+        assertEquals(0, itemRepository.countPending());
+    }
+}
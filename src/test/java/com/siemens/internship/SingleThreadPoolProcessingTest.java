@@ -0,0 +1,48 @@
+package com.siemens.internship;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs concurrent processing calls through the Spring bean on a platform pool with a single thread.
+ */
+@TestPropertySource(properties = {
+        "items.processing.executor.type=PLATFORM",
+        "items.processing.executor.pool-size=1",
+        "items.processing.executor.max-concurrency=1",
+        "items.processing.chunk-size=10"
+})
+public class SingleThreadPoolProcessingTest extends IsolatedDatabaseTest {
+    private static final int ITEM_COUNT = 50;
+
+    @Autowired
+    private ItemService itemService;
+
+    @BeforeEach
+    void setUp() {
+        seedItems(ITEM_COUNT);
+    }
+
+    @Test
+    public void testConcurrentCallsCompleteOnSingleThread() throws Exception {
+        // Două apeluri simultane: niciunul nu are voie să țină singurul fir cât timp își așteaptă chunk-urile din coadă
+        CompletableFuture<List<Item>> first = itemService.processItemsAsync();
+        CompletableFuture<List<Item>> second = itemService.processItemsAsync(false);
+        CompletableFuture<List<Item>> perItem = itemService.processItemsPerItemAsync();
+
+        CompletableFuture.allOf(first, second, perItem).get(30, TimeUnit.SECONDS);
+
+        assertEquals(ITEM_COUNT, first.get().size());
+        assertEquals(ITEM_COUNT, second.get().size());
+        assertEquals(ITEM_COUNT, perItem.get().size());
+        assertEquals(0, itemRepository.countPending());
+    }
+}